@@ -0,0 +1,100 @@
+package com.revature.movieapp.movieapp.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.revature.movieapp.movieapp.dto.MovieFullDetailsDTO;
+import com.revature.movieapp.movieapp.security.JwtUtil;
+import com.revature.movieapp.movieapp.service.MovieDetailsCache;
+import com.revature.movieapp.movieapp.service.TokenVersionCache;
+import com.revature.movieapp.movieapp.service.UsernameCache;
+
+/**
+ * Cache Configuration
+ * In-process Caffeine caches used by the application.
+ * Every cache registered here is bound to Micrometer by Spring Boot,
+ * so hit/miss/eviction counts show up under /actuator/metrics/cache.*
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Total weight of cached movie details (see weigh below)
+    @Value("${movies.cache.details.max-weight:50000}")
+    private long movieDetailsMaxWeight;
+
+    @Value("${movies.cache.details.ttl:10m}")
+    private Duration movieDetailsTtl;
+
+    @Value("${users.cache.usernames.max-size:10000}")
+    private long usernamesMaxSize;
+
+    // Bounds how long another instance's rename can stay unseen here
+    @Value("${users.cache.usernames.ttl:30m}")
+    private Duration usernamesTtl;
+
+    // One token version per recently active user
+    @Value("${users.cache.token-versions.max-size:10000}")
+    private long tokenVersionsMaxSize;
+
+    // How long a role/password change can take to revoke tokens on other instances
+    @Value("${jwt.version-check.ttl:30s}")
+    private Duration tokenVersionTtl;
+
+    // Verified JWTs are reused for a few seconds to skip repeated signature checks
+    @Value("${jwt.verify-cache.max-size:10000}")
+    private long verifiedTokensMaxSize;
+
+    @Value("${jwt.verify-cache.ttl:5s}")
+    private Duration verifiedTokensTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(MovieDetailsCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumWeight(movieDetailsMaxWeight)
+                .weigher((Object movieId, Object details) -> weigh(details))
+                .expireAfterWrite(movieDetailsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(UsernameCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(usernamesMaxSize)
+                .expireAfterWrite(usernamesTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(TokenVersionCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(tokenVersionsMaxSize)
+                .expireAfterWrite(tokenVersionTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(JwtUtil.VERIFIED_TOKENS_CACHE, Caffeine.newBuilder()
+                .maximumSize(verifiedTokensMaxSize)
+                .expireAfterWrite(verifiedTokensTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    // A movie's weight grows with the number of reviews and credits it carries,
+    // so a few huge titles cannot crowd out many small ones
+    private static int weigh(Object value) {
+        if (!(value instanceof MovieFullDetailsDTO details)) {
+            return 1;
+        }
+        return 1 + size(details.getReviews()) + size(details.getCast()) + size(details.getDirectors())
+                + size(details.getProducers()) + size(details.getWriters());
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+}
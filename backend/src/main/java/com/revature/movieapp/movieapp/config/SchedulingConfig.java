@@ -0,0 +1,13 @@
+package com.revature.movieapp.movieapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables @Scheduled background jobs (e.g. flushing buffered helpful votes)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
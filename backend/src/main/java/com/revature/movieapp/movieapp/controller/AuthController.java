@@ -4,9 +4,13 @@ import com.revature.movieapp.movieapp.dto.JwtResponse;
 import com.revature.movieapp.movieapp.dto.LoginRequest;
 import com.revature.movieapp.movieapp.dto.MessageResponse;
 import com.revature.movieapp.movieapp.model.User;
+import com.revature.movieapp.movieapp.security.AuthenticatedUser;
 import com.revature.movieapp.movieapp.security.JwtUtil;
+import com.revature.movieapp.movieapp.security.LoginExecutor;
+import com.revature.movieapp.movieapp.security.VerifiedToken;
 import com.revature.movieapp.movieapp.service.TokenBlacklistService;
 import com.revature.movieapp.movieapp.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,11 +18,12 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Authentication Controller - JWT Based
@@ -32,15 +37,18 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final TokenBlacklistService tokenBlacklistService;
+    private final LoginExecutor loginExecutor;
 
     public AuthController(UserService userService, 
                          AuthenticationManager authenticationManager,
                          JwtUtil jwtUtil,
-                         TokenBlacklistService tokenBlacklistService) {
+                         TokenBlacklistService tokenBlacklistService,
+                         LoginExecutor loginExecutor) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.loginExecutor = loginExecutor;
     }
 
     /**
@@ -96,11 +104,24 @@ public class AuthController {
      *   "password": "mypassword123"
      * }
      * 
+     * Runs on the login executor; answers 429 when too many logins are queued
+     * 
      * @param loginRequest username and password
      * @return JWT token and user information
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        // BCrypt runs on the bounded login pool; the request thread is released meanwhile
+        try {
+            return loginExecutor.submit(() -> authenticate(loginRequest));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new MessageResponse("Too many login attempts in progress, please retry shortly")));
+        }
+    }
+
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
         try {
             // Authenticate user with username and password
             Authentication authentication = authenticationManager.authenticate(
@@ -110,15 +131,11 @@ public class AuthController {
                 )
             );
 
-            // Get user details
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            
-            // Generate JWT token
-            String jwt = jwtUtil.generateToken(userDetails);
-            
-            // Get full user information
-            User user = userService.getUserByUsername(loginRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // The user loaded during authentication (id, email and roles included)
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+
+            // Generate JWT token (carries user id, roles and token version)
+            String jwt = jwtUtil.generateToken(user, user.getId(), user.getTokenVersion());
 
             // Return JWT token and user info
             JwtResponse response = new JwtResponse(
@@ -158,8 +175,14 @@ public class AuthController {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
                 
-                // Add token to blacklist
-                tokenBlacklistService.blacklistToken(token);
+                // Add token to blacklist until it expires
+                // (an invalid or expired token cannot be used anyway)
+                try {
+                    VerifiedToken verified = jwtUtil.verify(token);
+                    tokenBlacklistService.blacklistToken(verified.getTokenId(), verified.getExpiresAt());
+                } catch (JwtException e) {
+                    // nothing to revoke
+                }
                 
                 return ResponseEntity.ok(new MessageResponse("Logged out successfully"));
             } else {
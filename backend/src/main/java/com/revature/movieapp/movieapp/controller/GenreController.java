@@ -1,31 +1,77 @@
 package com.revature.movieapp.movieapp.controller;
 
-import com.revature.movieapp.movieapp.model.Genre;
-import com.revature.movieapp.movieapp.repository.GenreRepository;
+import com.revature.movieapp.movieapp.dto.MessageResponse;
+import com.revature.movieapp.movieapp.service.MovieService;
+import com.revature.movieapp.movieapp.service.ReferenceDataSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/genres")
 public class GenreController {
 
-    private final GenreRepository genreRepository;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
-    public GenreController(GenreRepository genreRepository) {
-        this.genreRepository = genreRepository;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
+    private final MovieService movieService;
+    private final CacheControl cacheControl;
+
+    public GenreController(ReferenceDataSnapshot referenceDataSnapshot, MovieService movieService,
+                           @Value("${reference-data.max-age:60s}") Duration maxAge) {
+        this.referenceDataSnapshot = referenceDataSnapshot;
+        this.movieService = movieService;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
     }
 
     /**
-     * Get all available genres
+     * Get all available genres (with the number of movies in each)
+     * Served from the preloaded snapshot; a matching If-None-Match gets 304 Not Modified
      */
     @GetMapping
-    public ResponseEntity<List<Genre>> getAllGenres() {
-        List<Genre> genres = genreRepository.findAll();
-        return ResponseEntity.ok(genres);
+    public ResponseEntity<byte[]> getAllGenres() {
+        ReferenceDataSnapshot.Resource genres = referenceDataSnapshot.getGenres();
+        return ResponseEntity.ok()
+                .eTag(genres.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(genres.getJson());
+    }
+
+    /**
+     * Browse the movies of a genre, best rated or newest first
+     * Example: GET /api/genres/{id}/movies?sort=releaseYear&limit=20&cursor=...
+     * sort is avgRating (default) or releaseYear; pass nextCursor back as cursor for the next page
+     */
+    @GetMapping("/{id}/movies")
+    public ResponseEntity<?> getGenreMovies(@PathVariable Long id,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "avgRating") String sort) {
+        try {
+            return ResponseEntity.ok(movieService.getGenreMoviesPage(
+                    id, MovieService.MovieSort.fromParam(sort), cursor, pageSize(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
-}
 
+    // Clamp the requested page size to 1..MAX_PAGE_SIZE
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+}
@@ -1,5 +1,6 @@
 package com.revature.movieapp.movieapp.controller;
 
+import com.revature.movieapp.movieapp.dto.MessageResponse;
 import com.revature.movieapp.movieapp.dto.MovieCastCrewDTO;
 import com.revature.movieapp.movieapp.model.MovieParticipation;
 import com.revature.movieapp.movieapp.service.MovieCastService;
@@ -36,10 +37,15 @@ public class MovieCastController {
      * POST /api/movies/{movieId}/cast/bulk
      */
     @PostMapping("/{movieId}/cast/bulk")
-    public ResponseEntity<String> addMultipleCastCrewToMovie(
+    public ResponseEntity<?> addMultipleCastCrewToMovie(
             @PathVariable Long movieId,
             @Valid @RequestBody List<MovieCastCrewDTO> castCrewList) {
-        movieCastService.addMultipleCastCrewToMovie(movieId, castCrewList);
+        try {
+            movieCastService.addMultipleCastCrewToMovie(movieId, castCrewList);
+        } catch (MovieCastService.InvalidCastCrewException e) {
+            // nothing was imported; every invalid entry is listed in the message
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
         return ResponseEntity.ok("Cast/crew members added successfully");
     }
 
@@ -3,6 +3,7 @@ package com.revature.movieapp.movieapp.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,9 +12,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.revature.movieapp.movieapp.dto.CursorPage;
+import com.revature.movieapp.movieapp.dto.MessageResponse;
 import com.revature.movieapp.movieapp.dto.MovieFullDetailsDTO;
 import com.revature.movieapp.movieapp.dto.MovieWithGenresDTO;
+import com.revature.movieapp.movieapp.dto.RatingHistogramDTO;
 import com.revature.movieapp.movieapp.model.Movie;
 import com.revature.movieapp.movieapp.service.MovieService;
 import com.revature.movieapp.movieapp.service.GenreService;
@@ -25,25 +33,64 @@ import jakarta.validation.Valid;
 @RestController
 public class MovieController {
     
+private static final int STREAM_CHUNK_SIZE = 100;
+private static final int DEFAULT_PAGE_SIZE = 20;
+private static final int MAX_PAGE_SIZE = 100;
+
 private final MovieService movieService;
 private final GenreService genreService;
+private final ObjectMapper objectMapper;
     
-    public MovieController(MovieService movieService, GenreService genreService) {
+    public MovieController(MovieService movieService, GenreService genreService, ObjectMapper objectMapper) {
         this.movieService = movieService;
         this.genreService = genreService;
+        this.objectMapper = objectMapper;
     }
     
 
+    // Without limit/cursor the full list is returned (existing behaviour).
+    // With them, one keyset page is returned: GET /movies?limit=20&sort=avgRating&cursor=...
+    // sort is one of movieId (default), avgRating, releaseYear, title
     @GetMapping("/movies")
-    public ResponseEntity<List<Movie>> getAllMovies() {
-        List<Movie> movies = movieService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<?> getAllMovies(@RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "movieId") String sort) {
+        if (limit == null && cursor == null) {
+            List<Movie> movies = movieService.getAllMovies();
+            return ResponseEntity.ok(movies);
+        }
+        try {
+            CursorPage<Movie> page = movieService.getMoviesPage(
+                    MovieService.MovieSort.fromParam(sort), cursor, pageSize(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/movies/with-genres")
-    public ResponseEntity<List<MovieWithGenresDTO>> getAllMoviesWithGenres() {
-        List<MovieWithGenresDTO> movies = movieService.getAllMoviesWithGenres();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<?> getAllMoviesWithGenres(@RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "movieId") String sort) {
+        if (limit == null && cursor == null) {
+            List<MovieWithGenresDTO> movies = movieService.getAllMoviesWithGenres();
+            return ResponseEntity.ok(movies);
+        }
+        try {
+            CursorPage<MovieWithGenresDTO> page = movieService.getMoviesWithGenresPage(
+                    MovieService.MovieSort.fromParam(sort), cursor, pageSize(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // Clamp the requested page size to 1..MAX_PAGE_SIZE
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     
@@ -84,6 +131,16 @@ private final GenreService genreService;
         }
     }
 
+    // Get the 1-5 star rating distribution of a movie
+    @GetMapping("/movies/{id}/rating-histogram")
+    public ResponseEntity<RatingHistogramDTO> getRatingHistogram(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(movieService.getRatingHistogram(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // Get all movies with full details
     @GetMapping("/movies/full-details")
     public ResponseEntity<List<MovieFullDetailsDTO>> getAllMoviesWithFullDetails() {
@@ -95,7 +152,32 @@ private final GenreService genreService;
         }
     }
 
-    // Add genres to a movie
+    // Stream all movies with full details as newline-delimited JSON.
+    // Movies are read and assembled one chunk at a time and flushed straight away,
+    // so memory stays bounded and the first movie is sent before the last one is loaded.
+    @GetMapping(value = "/movies/full-details/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMoviesWithFullDetails() {
+        StreamingResponseBody body = outputStream -> {
+            Long lastMovieId = 0L;
+            List<MovieFullDetailsDTO> chunk;
+            do {
+                chunk = movieService.getMoviesWithFullDetailsAfter(lastMovieId, STREAM_CHUNK_SIZE);
+                for (MovieFullDetailsDTO movieDetails : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(movieDetails));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                if (!chunk.isEmpty()) {
+                    lastMovieId = chunk.get(chunk.size() - 1).getMovieId();
+                }
+            } while (chunk.size() == STREAM_CHUNK_SIZE);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Add genres to a movie (genres it already has are kept)
     @PostMapping("/movies/{id}/genres")
     public ResponseEntity<String> addGenresToMovie(@PathVariable Long id, @RequestBody List<Long> genreIds) {
         try {
@@ -105,4 +187,15 @@ private final GenreService genreService;
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    // Replace the genres of a movie with the given set (used when editing a movie)
+    @PutMapping("/movies/{id}/genres")
+    public ResponseEntity<String> replaceMovieGenres(@PathVariable Long id, @RequestBody List<Long> genreIds) {
+        try {
+            genreService.replaceMovieGenres(id, genreIds);
+            return ResponseEntity.ok("Genres updated successfully");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -1,31 +1,40 @@
 package com.revature.movieapp.movieapp.controller;
 
-import com.revature.movieapp.movieapp.model.MovieRole;
-import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+import com.revature.movieapp.movieapp.service.ReferenceDataSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/roles")
 public class MovieRoleController {
 
-    private final MovieRoleRepository roleRepository;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
+    private final CacheControl cacheControl;
 
-    public MovieRoleController(MovieRoleRepository roleRepository) {
-        this.roleRepository = roleRepository;
+    public MovieRoleController(ReferenceDataSnapshot referenceDataSnapshot,
+                               @Value("${reference-data.max-age:60s}") Duration maxAge) {
+        this.referenceDataSnapshot = referenceDataSnapshot;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
     }
 
     /**
-     * Get all available roles (Actor, Director, Producer, etc.)
+     * Get all available roles (Actor, Director, Producer, etc.) with their credit category
+     * Served from the preloaded snapshot; a matching If-None-Match gets 304 Not Modified
      */
     @GetMapping
-    public ResponseEntity<List<MovieRole>> getAllRoles() {
-        List<MovieRole> roles = roleRepository.findAll();
-        return ResponseEntity.ok(roles);
+    public ResponseEntity<byte[]> getAllRoles() {
+        ReferenceDataSnapshot.Resource roles = referenceDataSnapshot.getRoles();
+        return ResponseEntity.ok()
+                .eTag(roles.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(roles.getJson());
     }
 }
-
@@ -1,5 +1,6 @@
 package com.revature.movieapp.movieapp.controller;
 
+import com.revature.movieapp.movieapp.dto.MessageResponse;
 import com.revature.movieapp.movieapp.dto.PersonDTO;
 import com.revature.movieapp.movieapp.service.PersonService;
 import jakarta.validation.Valid;
@@ -12,6 +13,9 @@ import java.util.List;
 @RequestMapping("/api/persons")
 public class PersonController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PersonService personService;
 
     public PersonController(PersonService personService) {
@@ -28,15 +32,25 @@ public class PersonController {
     }
 
     /**
-     * Search persons by name
-     * Example: GET /api/persons/search?name=Christian
+     * Search persons by name, best matches first
+     * Example: GET /api/persons/search?name=Christian&limit=10
+     * limit defaults to 20 and is capped at 100
      */
     @GetMapping("/search")
-    public ResponseEntity<List<PersonDTO>> searchPersons(@RequestParam String name) {
-        List<PersonDTO> persons = personService.searchPersonsByName(name);
+    public ResponseEntity<List<PersonDTO>> searchPersons(@RequestParam String name,
+                                                         @RequestParam(required = false) Integer limit) {
+        List<PersonDTO> persons = personService.searchPersonsByName(name, pageSize(limit));
         return ResponseEntity.ok(persons);
     }
 
+    // Clamp the requested page size to 1..MAX_PAGE_SIZE
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     /**
      * Get person by ID
      */
@@ -46,6 +60,24 @@ public class PersonController {
         return ResponseEntity.ok(person);
     }
 
+    /**
+     * Get a person's filmography (movies with role names and character notes), newest first
+     * Example: GET /api/persons/{id}/filmography?limit=20&cursor=...
+     * Pass nextCursor back as cursor for the next page; limit defaults to 20 and is capped at 100
+     */
+    @GetMapping("/{id}/filmography")
+    public ResponseEntity<?> getFilmography(@PathVariable Long id,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(personService.getFilmography(id, cursor, pageSize(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Create a new person
      */
@@ -1,14 +1,18 @@
 package com.revature.movieapp.movieapp.controller;
+import com.revature.movieapp.movieapp.dto.CursorPage;
+import com.revature.movieapp.movieapp.dto.MessageResponse;
 import com.revature.movieapp.movieapp.model.Review;
+import com.revature.movieapp.movieapp.security.AuthenticatedUser;
 import com.revature.movieapp.movieapp.service.ReviewService;
+import com.revature.movieapp.movieapp.trace.RequestTrace;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
@@ -23,22 +27,15 @@ import java.util.Optional;
 @Validated
 public class ReviewController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewService reviewService;
 
     public ReviewController(ReviewService reviewService) {
         this.reviewService = reviewService;
     }
 
-    /**
-     * Helper method to get the currently authenticated username
-     */
-    private String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-            return ((UserDetails) authentication.getPrincipal()).getUsername();
-        }
-        return null;
-    }
 
     /**
      * Helper method to check if current user can modify a review
@@ -58,13 +55,9 @@ public class ReviewController {
             return true;
         }
 
-        // Check if user owns the review
-        String currentUsername = getCurrentUsername();
-        if (currentUsername != null) {
-            return reviewService.isReviewOwner(review.getReviewId(), currentUsername);
-        }
-
-        return false;
+        // Check if user owns the review (the review is already loaded, so no query is needed)
+        AuthenticatedUser currentUser = AuthenticatedUser.current();
+        return currentUser != null && currentUser.getId().equals(review.getUserId());
     }
 
     // Get all reviews
@@ -128,40 +121,71 @@ public class ReviewController {
 
     // Delete review
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteReview(@PathVariable Long id) {
-        System.out.println("=== DELETE REVIEW REQUEST RECEIVED ===");
-        System.out.println("Review ID: " + id);
-        
-        // Check authentication
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("Authentication: " + authentication);
-        System.out.println("Is Authenticated: " + (authentication != null && authentication.isAuthenticated()));
-        if (authentication != null) {
-            System.out.println("Principal: " + authentication.getPrincipal());
-            System.out.println("Authorities: " + authentication.getAuthorities());
-        }
-        
+    public ResponseEntity<?> deleteReview(@PathVariable Long id, HttpServletRequest request) {
+        RequestTrace trace = RequestTrace.of(request);
+
         // Get the existing review
         Review existingReview = reviewService.getReviewById(id);
-        System.out.println("Review found - User ID: " + existingReview.getUserId());
         
         // Check if current user can modify this review
         if (!canModifyReview(existingReview)) {
-            System.out.println("Authorization FAILED - User cannot modify this review");
+            trace.event("review.delete.denied", "reviewId", id, "ownerId", existingReview.getUserId());
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body("You do not have permission to delete this review");
         }
 
-        System.out.println("Authorization PASSED - Proceeding with deletion");
+        trace.event("review.delete.allowed", "reviewId", id, "ownerId", existingReview.getUserId());
         boolean deleted = reviewService.deleteReview(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
+    // Mark a review as helpful (one vote per user)
+    @PostMapping("/{id}/helpful")
+    public ResponseEntity<?> markHelpful(@PathVariable Long id) {
+        AuthenticatedUser currentUser = AuthenticatedUser.current();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new MessageResponse("You must be logged in to vote"));
+        }
+        try {
+            if (!reviewService.markHelpful(id, currentUser.getId())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("You have already marked this review as helpful"));
+            }
+            return ResponseEntity.accepted().body(new MessageResponse("Vote recorded"));
+        } catch (ReviewService.ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     // Get reviews for a specific movie
+    // Without limit/cursor the full list is returned (existing behaviour).
+    // With them, one keyset page is returned: GET /api/reviews/movie/1?limit=20&sort=helpfulCount&cursor=...
+    // sort is one of updatedAt (default, newest first) or helpfulCount (most helpful first)
     @GetMapping("/movie/{movieId}")
-    public ResponseEntity<List<Review>> getReviewsByMovie(@PathVariable Long movieId) {
-        List<Review> reviews = reviewService.getReviewsByMovieId(movieId);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<?> getReviewsByMovie(@PathVariable Long movieId,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "updatedAt") String sort) {
+        if (limit == null && cursor == null) {
+            List<Review> reviews = reviewService.getReviewsByMovieId(movieId);
+            return ResponseEntity.ok(reviews);
+        }
+        try {
+            CursorPage<Review> page = reviewService.getReviewsPage(
+                    movieId, ReviewService.ReviewSort.fromParam(sort), cursor, pageSize(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // Clamp the requested page size to 1..MAX_PAGE_SIZE
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     // Get reviews by a specific user
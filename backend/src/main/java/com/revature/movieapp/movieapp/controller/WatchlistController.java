@@ -2,17 +2,13 @@ package com.revature.movieapp.movieapp.controller;
 
 import com.revature.movieapp.movieapp.dto.MessageResponse;
 import com.revature.movieapp.movieapp.model.Movie;
-import com.revature.movieapp.movieapp.model.User;
 import com.revature.movieapp.movieapp.model.Watchlist;
 import com.revature.movieapp.movieapp.model.WatchlistItem;
-import com.revature.movieapp.movieapp.service.UserService;
 import com.revature.movieapp.movieapp.service.WatchlistService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.revature.movieapp.movieapp.security.AuthenticatedUser;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,25 +25,21 @@ import java.util.Optional;
 public class WatchlistController {
     
     private final WatchlistService watchlistService;
-    private final UserService userService;
 
-    public WatchlistController(WatchlistService watchlistService, UserService userService) {
+    public WatchlistController(WatchlistService watchlistService) {
         this.watchlistService = watchlistService;
-        this.userService = userService;
     }
 
     /**
      * Get the current authenticated user
+     * The principal is built from the JWT and already carries the user ID, so no lookup is needed
      */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails)) {
+    private AuthenticatedUser getCurrentUser() {
+        AuthenticatedUser currentUser = AuthenticatedUser.current();
+        if (currentUser == null) {
             throw new RuntimeException("User not authenticated");
         }
-        
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return userService.getUserByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUser;
     }
 
     /**
@@ -57,7 +49,7 @@ public class WatchlistController {
     @GetMapping
     public ResponseEntity<?> getUserWatchlists() {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             List<Watchlist> watchlists = watchlistService.getUserWatchlists(currentUser.getId());
             return ResponseEntity.ok(watchlists);
         } catch (Exception e) {
@@ -73,7 +65,7 @@ public class WatchlistController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getWatchlistById(@PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             Optional<Watchlist> watchlist = watchlistService.getWatchlistById(id);
             
             if (watchlist.isEmpty()) {
@@ -101,7 +93,7 @@ public class WatchlistController {
     @PostMapping
     public ResponseEntity<?> createWatchlist(@Valid @RequestBody Watchlist watchlist) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Set the user ID for the watchlist
             watchlist.setUserId(currentUser.getId());
@@ -122,7 +114,7 @@ public class WatchlistController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateWatchlist(@PathVariable Long id, @Valid @RequestBody Watchlist watchlist) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Check if watchlist exists and user owns it
             if (!watchlistService.isWatchlistOwnedByUser(id, currentUser.getId())) {
@@ -151,7 +143,7 @@ public class WatchlistController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteWatchlist(@PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Check if watchlist exists and user owns it
             if (!watchlistService.isWatchlistOwnedByUser(id, currentUser.getId())) {
@@ -180,7 +172,7 @@ public class WatchlistController {
     @GetMapping("/{id}/items")
     public ResponseEntity<?> getWatchlistItems(@PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Check if watchlist exists and user owns it
             if (!watchlistService.isWatchlistOwnedByUser(id, currentUser.getId())) {
@@ -203,7 +195,7 @@ public class WatchlistController {
     @GetMapping("/{id}/movies")
     public ResponseEntity<?> getWatchlistMovies(@PathVariable Long id) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Check if watchlist exists and user owns it
             if (!watchlistService.isWatchlistOwnedByUser(id, currentUser.getId())) {
@@ -227,7 +219,7 @@ public class WatchlistController {
     @PostMapping("/{id}/items")
     public ResponseEntity<?> addMovieToWatchlist(@PathVariable Long id, @RequestBody Map<String, Long> request) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Check if watchlist exists and user owns it
             if (!watchlistService.isWatchlistOwnedByUser(id, currentUser.getId())) {
@@ -266,7 +258,7 @@ public class WatchlistController {
     @DeleteMapping("/{watchlistId}/items/{movieId}")
     public ResponseEntity<?> removeMovieFromWatchlist(@PathVariable Long watchlistId, @PathVariable Long movieId) {
         try {
-            User currentUser = getCurrentUser();
+            AuthenticatedUser currentUser = getCurrentUser();
             
             // Check if watchlist exists and user owns it
             if (!watchlistService.isWatchlistOwnedByUser(watchlistId, currentUser.getId())) {
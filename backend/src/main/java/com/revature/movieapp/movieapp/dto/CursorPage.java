@@ -0,0 +1,20 @@
+package com.revature.movieapp.movieapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a cursor (keyset) paginated listing
+ * Pass nextCursor back as the cursor parameter to get the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor; // null when this is the last page
+}
@@ -0,0 +1,48 @@
+package com.revature.movieapp.movieapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a person's filmography, newest movies first
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FilmographyDTO {
+
+    private Long personId;
+    private String name;
+    private Long movieCount; // total number of movies, across all pages
+
+    private List<MovieCreditDTO> movies;
+    private String nextCursor; // null when this is the last page
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MovieCreditDTO {
+        private Long movieId;
+        private String title;
+        private Long releaseYear;
+        private String posterUrl;
+        private Double avgRating;
+        private List<CreditDTO> roles;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreditDTO {
+        private Long roleId;
+        private String roleName;
+        private String note; // character name for actors, or other notes
+    }
+}
@@ -31,6 +31,9 @@ public class MovieFullDetailsDTO {
     private String posterUrl;
     private String trailerUrl;
     private Double avgRating;
+
+    // 1-5 star rating distribution
+    private RatingHistogramDTO ratingHistogram;
     
     // Genres
     private List<GenreDTO> genres;
@@ -41,7 +44,11 @@ public class MovieFullDetailsDTO {
     private List<PersonParticipationDTO> producers;
     private List<PersonParticipationDTO> writers;
 
+    // First page of reviews (newest first). Fetch the rest from
+    // /api/reviews/movie/{movieId}?cursor={reviewsNextCursor}, null when there are no more.
     private List<ReviewDTO> reviews;
+    private Long reviewCount;
+    private String reviewsNextCursor;
     
     @Data
     @NoArgsConstructor
@@ -0,0 +1,42 @@
+package com.revature.movieapp.movieapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.revature.movieapp.movieapp.model.Movie;
+
+/**
+ * DTO for a movie's 1-5 star rating distribution
+ * Built from the counters kept on the movie row, so no reviews are read
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingHistogramDTO {
+
+    private Long movieId;
+    private Long ratingCount;
+    private Double avgRating;
+    private Map<Integer, Long> counts; // star rating (1-5) -> number of reviews
+
+    public static RatingHistogramDTO from(Movie movie) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        counts.put(1, movie.getRating1Count());
+        counts.put(2, movie.getRating2Count());
+        counts.put(3, movie.getRating3Count());
+        counts.put(4, movie.getRating4Count());
+        counts.put(5, movie.getRating5Count());
+        return RatingHistogramDTO.builder()
+                .movieId(movie.getMovieId())
+                .ratingCount(movie.getRatingCount())
+                .avgRating(movie.getAvgRating())
+                .counts(counts)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.revature.movieapp.movieapp.model;
+
+import java.util.Locale;
+
+/**
+ * How a movie role is grouped in movie details (cast, directors, producers, writers)
+ * Stored on each MovieRole, so grouping credits never has to look at role names
+ */
+public enum CreditCategory {
+    CAST,
+    DIRECTOR,
+    PRODUCER,
+    WRITER,
+    OTHER;
+
+    /**
+     * Category for a role that does not have one yet, guessed from its name
+     * (the rules movie details used to apply to every role on every request)
+     */
+    public static CreditCategory fromRoleName(String roleName) {
+        String name = roleName == null ? "" : roleName.toLowerCase(Locale.ROOT);
+        if (name.contains("actor") || name.contains("actress")) {
+            return CAST;
+        } else if (name.contains("director")) {
+            return DIRECTOR;
+        } else if (name.contains("producer")) {
+            return PRODUCER;
+        } else if (name.contains("writer") || name.contains("screenplay")) {
+            return WRITER;
+        }
+        return OTHER;
+    }
+}
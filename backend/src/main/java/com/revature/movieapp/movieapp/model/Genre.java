@@ -4,7 +4,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -31,10 +33,22 @@ public class Genre {
     @Column(name = "description", nullable=true, length = 255)
     private String description;
 
+    /** Number of movies in this genre, kept up to date by GenreService */
+    @Column(name = "movie_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long movieCount;
+
     public Genre(String genreName) {
         this.genreName = genreName;
     }
 
+    @PrePersist
+    protected void onCreate() {
+        if (this.movieCount == null) {
+            this.movieCount = 0L;
+        }
+    }
+
 
 }
 
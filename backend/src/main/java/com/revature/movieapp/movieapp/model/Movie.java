@@ -1,9 +1,13 @@
 package com.revature.movieapp.movieapp.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -11,12 +15,18 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+    // Keyset pagination indexes: sort key + movie_id tie-break
+    @Index(name = "idx_movies_avg_rating", columnList = "avg_rating, movie_id"),
+    @Index(name = "idx_movies_release_year", columnList = "release_year, movie_id"),
+    @Index(name = "idx_movies_title", columnList = "title, movie_id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -24,14 +34,17 @@ public class Movie {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "movie_id")
     private Long movieId;
 
     @NotBlank(message = "Title is required")
     @Size(min = 1, max = 50, message = "Title must be between 1 and 50 characters")
+    @Column(name = "title")
     private String title;
 
     @NotNull(message = "Release year is required")
     @Min(value = 1888, message = "Release year cannot be before 1888")
+    @Column(name = "release_year")
     private Long releaseYear;
 
     @Min(value = 1, message = "Duration must be at least 1 minute")
@@ -53,5 +66,55 @@ public class Movie {
 
     @Min(value = 0, message = "Average rating cannot be less than 0")
     @Max(value = 5, message = "Average rating cannot exceed 5")
+    @Column(name = "avg_rating", updatable = false)
     private Double avgRating;
+
+    /**
+     * Rating aggregates: sum and number of review ratings.
+     * Maintained only by MovieRepository.applyRatingDelta (a single atomic UPDATE),
+     * which also derives avg_rating from them. They are not updatable through the
+     * entity, so saving a Movie can never overwrite a concurrent rating change.
+     */
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum;
+
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingCount;
+
+    /** Rating histogram: number of 1..5 star reviews, maintained with the aggregates above */
+    @Column(name = "rating_1_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long rating1Count;
+
+    @Column(name = "rating_2_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long rating2Count;
+
+    @Column(name = "rating_3_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long rating3Count;
+
+    @Column(name = "rating_4_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long rating4Count;
+
+    @Column(name = "rating_5_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long rating5Count;
+
+    // Unrated movies sort as 0 rather than NULL so rating keyset pagination stays exact
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        if (this.avgRating == null) this.avgRating = 0.0;
+        if (this.ratingSum == null) this.ratingSum = 0L;
+        if (this.ratingCount == null) this.ratingCount = 0L;
+        if (this.rating1Count == null) this.rating1Count = 0L;
+        if (this.rating2Count == null) this.rating2Count = 0L;
+        if (this.rating3Count == null) this.rating3Count = 0L;
+        if (this.rating4Count == null) this.rating4Count = 0L;
+        if (this.rating5Count == null) this.rating5Count = 0L;
+    }
 }
\ No newline at end of file
@@ -6,7 +6,10 @@ import lombok.NoArgsConstructor;
 import lombok.Data;
 
 @Entity
-@Table(name = "MovieGenres")
+@Table(name = "MovieGenres", indexes = {
+    // Genre browsing: (genre_id, movie_id) answers "movies of a genre" from the index alone
+    @Index(name = "idx_movie_genres_genre_movie", columnList = "genre_id, movie_id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,7 +18,8 @@ public class MovieGenres {
     @EmbeddedId
     private MovieGenresId id;
 
-    @ManyToOne
+    // Lazy: the movie id is in the key, and loading the movie row is rarely needed
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("movieId")
     @JoinColumn(name = "movie_id")
     private Movie movie;
@@ -5,8 +5,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,15 +17,23 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "movie_participations")
+@Table(name = "movie_participations", indexes = {
+    // A person's credits (filmography)
+    @Index(name = "idx_movie_participations_person_movie", columnList = "person_id, movie_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class MovieParticipation {
 
+    // Pooled table generator instead of IDENTITY: ids are handed out 50 at a time without
+    // an insert, so Hibernate can batch the inserts (see MovieCastService bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "movie_participations_id")
+    @TableGenerator(name = "movie_participations_id", table = "id_generators",
+            pkColumnName = "generator", valueColumnName = "next_id",
+            pkColumnValue = "movie_participations", allocationSize = 50)
     @Column(name = "participation_id")
     private Long participationId;
 
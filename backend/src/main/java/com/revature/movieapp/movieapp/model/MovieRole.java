@@ -2,15 +2,20 @@ package com.revature.movieapp.movieapp.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "roles")
@@ -32,4 +37,21 @@ public class MovieRole {
     @Size(max = 1000)
     private String description;
 
+    /**
+     * Group this role is listed under in movie details; derived from the name when not set.
+     * Existing roles start at OTHER and are derived at startup by RoleCategoryInitializer
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @ColumnDefault("'OTHER'")
+    private CreditCategory category;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        if (this.category == null) {
+            this.category = CreditCategory.fromRoleName(this.name);
+        }
+    }
+
 }
@@ -5,7 +5,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,15 +15,21 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "participation_roles")
+@Table(name = "participation_roles", indexes = {
+    @Index(name = "idx_participation_roles_participation", columnList = "participation_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ParticipationRole {
 
+    // Pooled table generator, as for MovieParticipation, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "participation_roles_id")
+    @TableGenerator(name = "participation_roles_id", table = "id_generators",
+            pkColumnName = "generator", valueColumnName = "next_id",
+            pkColumnValue = "participation_roles", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -9,6 +9,7 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -44,6 +45,11 @@ public class Person {
     /** Optional profile image URL */
     private String profileUrl;
 
+    /** Number of distinct movies this person is credited in, kept up to date by MovieCastService */
+    @Column(name = "movie_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long movieCount;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -53,6 +59,9 @@ public class Person {
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
+        if (this.movieCount == null) {
+            this.movieCount = 0L;
+        }
     }
 
     @PreUpdate
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -28,7 +29,11 @@ import java.time.LocalDateTime;
  * - Include rating (1-5), a free-text comment, and created/updated timestamps.
  */
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+	// Back the keyset-paginated review listings of a movie
+	@Index(name = "idx_reviews_movie_updated_at", columnList = "movie_id, updated_at, review_id"),
+	@Index(name = "idx_reviews_movie_helpful_count", columnList = "movie_id, helpful_count, review_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -59,8 +64,12 @@ public class Review {
 	@Column(name = "review_text", columnDefinition = "TEXT", length = 5000)
 	private String reviewText;
 
-	/** Number of helpful votes for this review. */
-	@Column(name = "helpful_count", nullable = false)
+	/**
+	 * Number of helpful votes for this review.
+	 * Written only by HelpfulVoteBuffer's relative UPDATEs; not updatable through the
+	 * entity, so saving an edited review can never overwrite votes flushed meanwhile.
+	 */
+	@Column(name = "helpful_count", nullable = false, updatable = false)
 	@Builder.Default
 	private Integer helpfulCount = 0;
 
@@ -74,6 +83,8 @@ public class Review {
 	protected void onCreate() {
 		if (this.helpfulCount == null) this.helpfulCount = 0;
 		this.createdAt = LocalDateTime.now();
+		// never leave updated_at null, it is a pagination sort key
+		if (this.updatedAt == null) this.updatedAt = this.createdAt;
 	}
 
 	@PreUpdate
@@ -0,0 +1,43 @@
+package com.revature.movieapp.movieapp.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's "helpful" vote on a review.
+ * The composite primary key is what stops a user from voting twice;
+ * the running total lives in reviews.helpful_count.
+ */
+@Entity
+@Table(name = "review_helpful_votes")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewHelpfulVote {
+
+    @EmbeddedId
+    private ReviewHelpfulVoteId id;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Composite key class
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ReviewHelpfulVoteId implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "review_id")
+        private Long reviewId;
+
+        @Column(name = "user_id")
+        private Long userId;
+    }
+}
@@ -14,6 +14,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -22,6 +24,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.ColumnDefault;
+
 /**
  * User Entity - Represents a user in the movie application
  * This entity is used for both authentication and authorization
@@ -73,6 +77,21 @@ public class User {
     @Column(name = "role") // Column name in the user_roles table
     private Set<Role> roles = new HashSet<>();
 
+    /**
+     * Version of the user's credentials and roles, embedded in every JWT.
+     * Bumped by UserService when roles or password change, which invalidates
+     * tokens issued before the change.
+     */
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private Long tokenVersion;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        if (this.tokenVersion == null) this.tokenVersion = 0L;
+    }
+
 }
 
 
@@ -0,0 +1,10 @@
+package com.revature.movieapp.movieapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.revature.movieapp.movieapp.model.DataMigration;
+
+@Repository
+public interface DataMigrationRepository extends JpaRepository<DataMigration, String> {
+}
@@ -2,12 +2,26 @@ package com.revature.movieapp.movieapp.repository;
 
 import com.revature.movieapp.movieapp.model.Genre;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GenreRepository extends JpaRepository<Genre, Long> {
     
     Optional<Genre> findByGenreName(String genreName);
+
+    // Which of the given genre ids exist, in one query
+    @Query("SELECT g.genreId FROM Genre g WHERE g.genreId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Atomically add delta to the precomputed movie count of each of the given genres
+    @Modifying
+    @Query(value = "UPDATE genres SET movie_count = movie_count + :delta WHERE genre_id IN (:genreIds)", nativeQuery = true)
+    int adjustMovieCounts(@Param("genreIds") Collection<Long> genreIds, @Param("delta") long delta);
 }
\ No newline at end of file
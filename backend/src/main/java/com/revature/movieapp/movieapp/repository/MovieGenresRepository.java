@@ -2,10 +2,12 @@ package com.revature.movieapp.movieapp.repository;
 
 import com.revature.movieapp.movieapp.model.MovieGenres;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +18,45 @@ public interface MovieGenresRepository extends JpaRepository<MovieGenres, MovieG
     
     @Query("SELECT mg FROM MovieGenres mg WHERE mg.id.genreId = :genreId")
     List<MovieGenres> findByGenreId(@Param("genreId") Long genreId);
-}
\ No newline at end of file
+
+    // Just the genre ids of one movie, without loading entities
+    @Query("SELECT mg.id.genreId FROM MovieGenres mg WHERE mg.id.movieId = :movieId")
+    List<Long> findGenreIdsByMovieId(@Param("movieId") Long movieId);
+
+    // Link a movie to a set of genres in one statement
+    @Modifying
+    @Query(value = "INSERT INTO movie_genres (movie_id, genre_id)"
+            + " SELECT :movieId, g.genre_id FROM genres g WHERE g.genre_id IN (:genreIds)", nativeQuery = true)
+    int insertGenres(@Param("movieId") Long movieId, @Param("genreIds") Collection<Long> genreIds);
+
+    // Unlink a movie from a set of genres in one statement
+    @Modifying
+    @Query("DELETE FROM MovieGenres mg WHERE mg.id.movieId = :movieId AND mg.id.genreId IN :genreIds")
+    int deleteGenres(@Param("movieId") Long movieId, @Param("genreIds") Collection<Long> genreIds);
+
+    // Unlink a movie from all of its genres in one statement
+    @Modifying
+    @Query("DELETE FROM MovieGenres mg WHERE mg.id.movieId = :movieId")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    // Genre names for a batch of movies in one joined query, without loading entities
+    @Query("SELECT mg.id.movieId AS movieId, g.genreName AS genreName FROM MovieGenres mg JOIN mg.genre g"
+            + " WHERE mg.id.movieId IN :movieIds")
+    List<MovieGenreNameView> findGenreNamesByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    // Genre names of every movie, for listings that cover the whole catalog
+    @Query("SELECT mg.id.movieId AS movieId, g.genreName AS genreName FROM MovieGenres mg JOIN mg.genre g")
+    List<MovieGenreNameView> findAllGenreNames();
+
+    // Fetch joins the genre so a batch of movies costs one query (callers already have the movies)
+    @Query("SELECT mg FROM MovieGenres mg JOIN FETCH mg.genre WHERE mg.id.movieId IN :movieIds")
+    List<MovieGenres> findWithGenreByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    /**
+     * Projection holding a movie id and the name of one of its genres
+     */
+    interface MovieGenreNameView {
+        Long getMovieId();
+        String getGenreName();
+    }
+}
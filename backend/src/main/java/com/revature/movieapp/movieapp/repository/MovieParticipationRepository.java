@@ -1,9 +1,14 @@
 package com.revature.movieapp.movieapp.repository;
 
+import com.revature.movieapp.movieapp.model.Movie;
 import com.revature.movieapp.movieapp.model.MovieParticipation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +18,37 @@ public interface MovieParticipationRepository extends JpaRepository<MoviePartici
 
     List<MovieParticipation> findByPersonId(Long personId);
 
+    List<MovieParticipation> findByMovieIdIn(Collection<Long> movieIds);
+
+    // Keyset pages of the distinct movies a person is credited in, newest first with ties
+    // broken by movieId (descending). Pass PageRequest.ofSize(n) to bound the page size.
+    @Query("SELECT m FROM Movie m WHERE m.movieId IN"
+            + " (SELECT p.movieId FROM MovieParticipation p WHERE p.personId = :personId)"
+            + " ORDER BY m.releaseYear DESC, m.movieId DESC")
+    List<Movie> findFirstFilmographyPage(@Param("personId") Long personId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.movieId IN"
+            + " (SELECT p.movieId FROM MovieParticipation p WHERE p.personId = :personId)"
+            + " AND (m.releaseYear < :releaseYear OR (m.releaseYear = :releaseYear AND m.movieId < :movieId))"
+            + " ORDER BY m.releaseYear DESC, m.movieId DESC")
+    List<Movie> findFilmographyPageAfter(@Param("personId") Long personId, @Param("releaseYear") Long releaseYear,
+                                         @Param("movieId") Long movieId, Pageable pageable);
+
+    // Role names and notes of a person's credits in a set of movies, in one query
+    @Query("SELECT p.movieId AS movieId, r.roleId AS roleId, r.name AS roleName, pr.note AS note"
+            + " FROM ParticipationRole pr"
+            + " JOIN MovieParticipation p ON p.participationId = pr.participationId"
+            + " JOIN MovieRole r ON r.roleId = pr.roleId"
+            + " WHERE p.personId = :personId AND p.movieId IN :movieIds"
+            + " ORDER BY p.participationId, pr.id")
+    List<CreditView> findCreditsByPersonIdAndMovieIdIn(@Param("personId") Long personId,
+                                                       @Param("movieIds") Collection<Long> movieIds);
+
+    interface CreditView {
+        Long getMovieId();
+        Long getRoleId();
+        String getRoleName();
+        String getNote();
+    }
+
 }
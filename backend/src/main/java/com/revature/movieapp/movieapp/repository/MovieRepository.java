@@ -1,6 +1,13 @@
 package com.revature.movieapp.movieapp.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.revature.movieapp.movieapp.model.Movie;
@@ -8,6 +15,101 @@ import com.revature.movieapp.movieapp.model.Movie;
 @Repository
 public interface  MovieRepository extends JpaRepository<Movie, Long>{
 
-    
+    /**
+     * Atomically apply a rating change to a movie: remove one rating and/or add one.
+     * Updates rating_sum, rating_count and the 1..5 star histogram, and re-derives
+     * avg_rating, all in one statement. avg_rating is assigned first so it is computed
+     * from the old sum/count on every database (MySQL evaluates SET left to right,
+     * standard SQL always reads the old row).
+     * @param sumDelta change to the sum of ratings
+     * @param countDelta change to the number of ratings (+1 create, 0 update, -1 delete)
+     * @param removedRating star rating taken out of the histogram, or 0 for none
+     * @param addedRating star rating put into the histogram, or 0 for none
+     * @return number of rows updated, 0 if the movie does not exist
+     */
+    @Modifying
+    @Query(value = "UPDATE movies SET"
+            + " avg_rating = CASE WHEN rating_count + :countDelta > 0"
+            + " THEN (rating_sum + :sumDelta) * 1.0 / (rating_count + :countDelta) ELSE 0 END,"
+            + " rating_sum = rating_sum + :sumDelta,"
+            + " rating_count = rating_count + :countDelta,"
+            + " rating_1_count = rating_1_count + (CASE WHEN :addedRating = 1 THEN 1 ELSE 0 END) - (CASE WHEN :removedRating = 1 THEN 1 ELSE 0 END),"
+            + " rating_2_count = rating_2_count + (CASE WHEN :addedRating = 2 THEN 1 ELSE 0 END) - (CASE WHEN :removedRating = 2 THEN 1 ELSE 0 END),"
+            + " rating_3_count = rating_3_count + (CASE WHEN :addedRating = 3 THEN 1 ELSE 0 END) - (CASE WHEN :removedRating = 3 THEN 1 ELSE 0 END),"
+            + " rating_4_count = rating_4_count + (CASE WHEN :addedRating = 4 THEN 1 ELSE 0 END) - (CASE WHEN :removedRating = 4 THEN 1 ELSE 0 END),"
+            + " rating_5_count = rating_5_count + (CASE WHEN :addedRating = 5 THEN 1 ELSE 0 END) - (CASE WHEN :removedRating = 5 THEN 1 ELSE 0 END)"
+            + " WHERE movie_id = :movieId", nativeQuery = true)
+    int applyRatingDelta(@Param("movieId") Long movieId,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("countDelta") long countDelta,
+                         @Param("removedRating") long removedRating,
+                         @Param("addedRating") long addedRating);
+
+    // Next chunk of movies after the given id, used to scroll the table without OFFSET
+    List<Movie> findByMovieIdGreaterThanOrderByMovieIdAsc(Long movieId, Limit limit);
+
+    // Keyset pagination queries. Each "after" query continues strictly past the last
+    // row of the previous page, so every page is an index range scan of the same cost.
+    // Pass PageRequest.ofSize(n) as the Pageable to bound the page size.
+
+    @Query("SELECT m FROM Movie m ORDER BY m.movieId ASC")
+    List<Movie> findFirstPageById(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.movieId > :movieId ORDER BY m.movieId ASC")
+    List<Movie> findPageByIdAfter(@Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m ORDER BY m.avgRating DESC, m.movieId DESC")
+    List<Movie> findFirstPageByRating(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.avgRating < :avgRating"
+            + " OR (m.avgRating = :avgRating AND m.movieId < :movieId)"
+            + " ORDER BY m.avgRating DESC, m.movieId DESC")
+    List<Movie> findPageByRatingAfter(@Param("avgRating") Double avgRating, @Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m ORDER BY m.releaseYear DESC, m.movieId DESC")
+    List<Movie> findFirstPageByReleaseYear(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.releaseYear < :releaseYear"
+            + " OR (m.releaseYear = :releaseYear AND m.movieId < :movieId)"
+            + " ORDER BY m.releaseYear DESC, m.movieId DESC")
+    List<Movie> findPageByReleaseYearAfter(@Param("releaseYear") Long releaseYear, @Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m ORDER BY m.title ASC, m.movieId ASC")
+    List<Movie> findFirstPageByTitle(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.title > :title"
+            + " OR (m.title = :title AND m.movieId > :movieId)"
+            + " ORDER BY m.title ASC, m.movieId ASC")
+    List<Movie> findPageByTitleAfter(@Param("title") String title, @Param("movieId") Long movieId, Pageable pageable);
+
+    // Keyset pages of the movies in one genre, in one statement per page. The genre's movie ids
+    // come from the (genre_id, movie_id) index of movie_genres, but no index orders them by the
+    // sort key within the genre: the database reads every movie of the genre past the cursor
+    // and sorts them before taking the page. The result is exact over the whole genre; the cost
+    // of a page grows with the size of the genre rather than with the page size.
+
+    @Query("SELECT m FROM Movie m WHERE m.movieId IN"
+            + " (SELECT mg.id.movieId FROM MovieGenres mg WHERE mg.id.genreId = :genreId)"
+            + " ORDER BY m.avgRating DESC, m.movieId DESC")
+    List<Movie> findFirstGenrePageByRating(@Param("genreId") Long genreId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.movieId IN"
+            + " (SELECT mg.id.movieId FROM MovieGenres mg WHERE mg.id.genreId = :genreId)"
+            + " AND (m.avgRating < :avgRating OR (m.avgRating = :avgRating AND m.movieId < :movieId))"
+            + " ORDER BY m.avgRating DESC, m.movieId DESC")
+    List<Movie> findGenrePageByRatingAfter(@Param("genreId") Long genreId, @Param("avgRating") Double avgRating,
+                                           @Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.movieId IN"
+            + " (SELECT mg.id.movieId FROM MovieGenres mg WHERE mg.id.genreId = :genreId)"
+            + " ORDER BY m.releaseYear DESC, m.movieId DESC")
+    List<Movie> findFirstGenrePageByReleaseYear(@Param("genreId") Long genreId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.movieId IN"
+            + " (SELECT mg.id.movieId FROM MovieGenres mg WHERE mg.id.genreId = :genreId)"
+            + " AND (m.releaseYear < :releaseYear OR (m.releaseYear = :releaseYear AND m.movieId < :movieId))"
+            + " ORDER BY m.releaseYear DESC, m.movieId DESC")
+    List<Movie> findGenrePageByReleaseYearAfter(@Param("genreId") Long genreId, @Param("releaseYear") Long releaseYear,
+                                                @Param("movieId") Long movieId, Pageable pageable);
 
 }
@@ -1,9 +1,14 @@
 package com.revature.movieapp.movieapp.repository;
 
+import com.revature.movieapp.movieapp.model.CreditCategory;
 import com.revature.movieapp.movieapp.model.MovieRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,10 @@ public interface MovieRoleRepository extends JpaRepository<MovieRole, Long> {
 
     Optional<MovieRole> findByName(String name);
 
+    List<MovieRole> findByCategory(CreditCategory category);
+
+    // Which of the given role ids exist, in one query
+    @Query("SELECT r.roleId FROM MovieRole r WHERE r.roleId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
 }
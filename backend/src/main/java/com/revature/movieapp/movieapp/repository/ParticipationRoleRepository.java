@@ -4,6 +4,7 @@ import com.revature.movieapp.movieapp.model.ParticipationRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +14,6 @@ public interface ParticipationRoleRepository extends JpaRepository<Participation
 
     List<ParticipationRole> findByRoleId(Long roleId);
 
+    List<ParticipationRole> findByParticipationIdIn(Collection<Long> participationIds);
+
 }
@@ -2,8 +2,13 @@ package com.revature.movieapp.movieapp.repository;
 
 import com.revature.movieapp.movieapp.model.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,27 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
 
     Optional<Person> findByName(String name);
 
+    // Ids and names only (no bios), used to build PersonNameIndex
+    @Query("SELECT p.personId AS id, p.name AS name FROM Person p")
+    List<PersonNameView> findAllNames();
+
+    // Which of the given person ids exist, in one query
+    @Query("SELECT p.personId FROM Person p WHERE p.personId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Recompute the number of distinct movies each of the given persons is credited in, in one
+    // statement. Deriving it from movie_participations (rather than adding or subtracting one
+    // after an exists check) stays right when credits for the same person change concurrently:
+    // the UPDATE holds the person's row lock and its subquery reads the latest committed credits.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE persons SET movie_count = (SELECT COUNT(DISTINCT mp.movie_id)"
+            + " FROM movie_participations mp WHERE mp.person_id = persons.person_id)"
+            + " WHERE person_id IN (:personIds)", nativeQuery = true)
+    int refreshMovieCounts(@Param("personIds") Collection<Long> personIds);
+
+    interface PersonNameView {
+        Long getId();
+        String getName();
+    }
+
 }
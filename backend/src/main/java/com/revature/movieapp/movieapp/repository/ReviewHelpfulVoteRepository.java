@@ -0,0 +1,27 @@
+package com.revature.movieapp.movieapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.revature.movieapp.movieapp.model.ReviewHelpfulVote;
+
+@Repository
+public interface ReviewHelpfulVoteRepository extends JpaRepository<ReviewHelpfulVote, ReviewHelpfulVote.ReviewHelpfulVoteId> {
+
+    /**
+     * Record a vote unless this user already voted for the review, in one statement
+     * @return 1 if the vote was recorded, 0 if it was a duplicate
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO review_helpful_votes (review_id, user_id, created_at)"
+            + " VALUES (:reviewId, :userId, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("reviewId") Long reviewId, @Param("userId") Long userId);
+
+    // Remove every vote of a review (before the review itself is deleted)
+    @Modifying
+    @Query("DELETE FROM ReviewHelpfulVote v WHERE v.id.reviewId = :reviewId")
+    int deleteByReviewId(@Param("reviewId") Long reviewId);
+}
@@ -1,16 +1,69 @@
 package com.revature.movieapp.movieapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.revature.movieapp.movieapp.model.Review;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long>{
 
     List<Review> findByMovieId(Long movieId);
     List<Review> findByUserId(Long userId);
+
+    // Load a review and hold its row lock until the transaction ends, so two edits of the
+    // same review apply their rating deltas one after the other against the current rating
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.reviewId = :reviewId")
+    Optional<Review> findByIdForUpdate(@Param("reviewId") Long reviewId);
+
+    // Movies a user has reviewed
+    @Query("SELECT DISTINCT r.movieId FROM Review r WHERE r.userId = :userId")
+    List<Long> findMovieIdsByUserId(@Param("userId") Long userId);
+
+    // Movies of a set of reviews, in one query
+    @Query("SELECT DISTINCT r.movieId FROM Review r WHERE r.reviewId IN :reviewIds")
+    List<Long> findMovieIdsByReviewIdIn(@Param("reviewIds") Collection<Long> reviewIds);
+
+    // The newest perMovie reviews of each movie in a batch, in a single query
+    @Query(value = "SELECT review_id, user_id, movie_id, rating, review_text, helpful_count, created_at, updated_at"
+            + " FROM (SELECT r.*, ROW_NUMBER() OVER (PARTITION BY r.movie_id"
+            + " ORDER BY r.updated_at DESC, r.review_id DESC) AS rn"
+            + " FROM reviews r WHERE r.movie_id IN (:movieIds)) ranked"
+            + " WHERE rn <= :perMovie"
+            + " ORDER BY movie_id, updated_at DESC, review_id DESC", nativeQuery = true)
+    List<Review> findNewestByMovieIdIn(@Param("movieIds") Collection<Long> movieIds, @Param("perMovie") int perMovie);
+
+    // Keyset pages of a movie's reviews. Both orders are descending with ties broken by reviewId,
+    // and are backed by the (movie_id, sort key, review_id) indexes on reviews.
+    // Pass PageRequest.ofSize(n) as the Pageable to bound the page size.
+    @Query("SELECT r FROM Review r WHERE r.movieId = :movieId ORDER BY r.updatedAt DESC, r.reviewId DESC")
+    List<Review> findFirstPageByUpdatedAt(@Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.movieId = :movieId"
+            + " AND (r.updatedAt < :updatedAt OR (r.updatedAt = :updatedAt AND r.reviewId < :reviewId))"
+            + " ORDER BY r.updatedAt DESC, r.reviewId DESC")
+    List<Review> findPageByUpdatedAtAfter(@Param("movieId") Long movieId, @Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("reviewId") Long reviewId, Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.movieId = :movieId ORDER BY r.helpfulCount DESC, r.reviewId DESC")
+    List<Review> findFirstPageByHelpfulCount(@Param("movieId") Long movieId, Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.movieId = :movieId"
+            + " AND (r.helpfulCount < :helpfulCount OR (r.helpfulCount = :helpfulCount AND r.reviewId < :reviewId))"
+            + " ORDER BY r.helpfulCount DESC, r.reviewId DESC")
+    List<Review> findPageByHelpfulCountAfter(@Param("movieId") Long movieId, @Param("helpfulCount") Integer helpfulCount,
+                                             @Param("reviewId") Long reviewId, Pageable pageable);
     
 }
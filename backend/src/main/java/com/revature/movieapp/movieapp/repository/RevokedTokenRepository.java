@@ -0,0 +1,50 @@
+package com.revature.movieapp.movieapp.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.revature.movieapp.movieapp.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Record a revocation unless the token is already revoked, in one statement
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (token_id, expires_at) VALUES (:tokenId, :expiresAt)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") Instant expiresAt);
+
+    // Unexpired revocations with a revision above the given one, oldest first
+    @Query("SELECT t.revision AS revision, t.tokenId AS tokenId FROM RevokedToken t"
+            + " WHERE t.revision > :revision AND t.expiresAt > :now ORDER BY t.revision")
+    List<RevisionView> findLiveAfter(@Param("revision") long revision, @Param("now") Instant now);
+
+    // Unexpired revocations with the given revisions
+    @Query("SELECT t.revision AS revision, t.tokenId AS tokenId FROM RevokedToken t"
+            + " WHERE t.revision IN :revisions AND t.expiresAt > :now")
+    List<RevisionView> findLiveByRevisionIn(@Param("revisions") Collection<Long> revisions, @Param("now") Instant now);
+
+    boolean existsByTokenIdAndExpiresAtAfter(String tokenId, Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    /**
+     * Projection holding a revocation's revision and token id
+     */
+    interface RevisionView {
+        Long getRevision();
+        String getTokenId();
+    }
+}
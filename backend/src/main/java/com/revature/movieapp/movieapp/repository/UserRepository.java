@@ -2,8 +2,12 @@ package com.revature.movieapp.movieapp.repository;
 
 import com.revature.movieapp.movieapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +31,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional containing the user if found
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Find just the token version of a user, without loading the entity or its roles
+     * @param id the user ID
+     * @return Optional containing the token version if the user exists
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Find the usernames for a set of user ids in one query
+     * Only selects id and username, so the roles collection is never loaded
+     * @param ids the user ids to look up
+     * @return id/username pairs for the users that exist
+     */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+    List<UsernameView> findUsernamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Projection holding just a user's id and username
+     */
+    interface UsernameView {
+        Long getId();
+        String getUsername();
+    }
 }
@@ -0,0 +1,215 @@
+package com.revature.movieapp.movieapp.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limit Filter for login and registration
+ * Each attempt costs a BCrypt hash, so attempts are throttled with token buckets
+ * per client IP and per submitted username before they reach the AuthenticationManager.
+ * Runs ahead of JwtAuthenticationFilter; rejected requests get a plain 429.
+ *
+ * Buckets live in bounded maps that forget a key once its bucket would be full again.
+ * Metric: auth.rate-limit.rejections (tag key=ip|username)
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/auth/login", "/api/auth/register");
+
+    // Login and registration bodies are tiny; anything bigger is refused outright
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"message\":\"Too many attempts, please retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Limiter ipLimiter;
+    private final Limiter usernameLimiter;
+
+    public AuthRateLimitFilter(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+                               @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                               @Value("${auth.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+                               @Value("${auth.rate-limit.username.capacity:5}") int usernameCapacity,
+                               @Value("${auth.rate-limit.username.refill-per-minute:5}") int usernameRefillPerMinute) {
+        this.objectMapper = objectMapper;
+        this.ipLimiter = new Limiter("ip", ipCapacity, ipRefillPerMinute, maxKeys, meterRegistry);
+        this.usernameLimiter = new Limiter("username", usernameCapacity, usernameRefillPerMinute, maxKeys, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"POST".equals(request.getMethod()) || !LIMITED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Cheapest check first: no need to read the body of a throttled client.
+        // Behind the load balancer this is the client's address, taken from X-Forwarded-For
+        // by server.forward-headers-strategy (only trusted internal proxies are honoured)
+        if (!ipLimiter.tryAcquire(request.getRemoteAddr(), response)) {
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        String username = usernameOf(body);
+        if (username != null && !usernameLimiter.tryAcquire(username.toLowerCase(Locale.ROOT), response)) {
+            return;
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    // The submitted username, or null if the body has none (the controller will reject it)
+    private String usernameOf(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() && !username.asText().isBlank() ? username.asText() : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Token buckets for one kind of key
+     */
+    private static final class Limiter {
+        private final Cache<String, RateLimitBucket> buckets;
+        private final int capacity;
+        private final long refillIntervalNanos;
+        private final Counter rejections;
+
+        private Limiter(String keyType, int capacity, int refillPerMinute, long maxKeys, MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.refillIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+            // after this long untouched a bucket is full again, so forgetting it changes nothing
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(refillIntervalNanos * capacity))
+                    .build();
+            this.rejections = Counter.builder("auth.rate-limit.rejections")
+                    .description("Login/registration attempts refused by the rate limiter")
+                    .tag("key", keyType)
+                    .register(meterRegistry);
+        }
+
+        // Take a token for the key, or write a 429 and return false
+        private boolean tryAcquire(String key, HttpServletResponse response) throws IOException {
+            RateLimitBucket bucket = buckets.get(key, k -> new RateLimitBucket(capacity, refillIntervalNanos));
+            if (bucket.tryAcquire()) {
+                return true;
+            }
+            rejections.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextToken()) + 1);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+            return false;
+        }
+    }
+
+    /**
+     * Request whose body has already been read, replayed to the rest of the chain
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // the whole body is already in memory, so it is available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? java.nio.charset.Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.revature.movieapp.movieapp.security;
+
+import com.revature.movieapp.movieapp.model.Role;
+import com.revature.movieapp.movieapp.model.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.Collectors;
+
+/**
+ * Security principal for an application user
+ * Carries the user's ID and details along with the authentication,
+ * so code handling an authenticated request does not have to look the user up again
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final Long tokenVersion;
+    private final Set<Role> roles;
+    private final Set<GrantedAuthority> authorities;
+    private String password;
+
+    public AuthenticatedUser(Long id, String username, String password, String email,
+                             Long tokenVersion, Collection<Role> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.email = email;
+        this.tokenVersion = tokenVersion;
+        this.roles = roles.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(roles));
+        // Convert our Role enum to Spring Security's GrantedAuthority
+        this.authorities = this.roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.name()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Build the principal from a user loaded from the database (used at login)
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(),
+                user.getEmail(), user.getTokenVersion(), user.getRoles());
+    }
+
+    /**
+     * Build the principal from a verified JWT (used on every authenticated request)
+     * No password is carried, and roles this version does not know are ignored
+     */
+    public static AuthenticatedUser from(VerifiedToken token) {
+        Set<Role> roles = token.getRoles().stream()
+                .flatMap(AuthenticatedUser::parseRole)
+                .collect(Collectors.toSet());
+        return new AuthenticatedUser(token.getUserId(), token.getSubject(), null,
+                null, token.getTokenVersion(), roles);
+    }
+
+    private static Stream<Role> parseRole(String role) {
+        try {
+            return Stream.of(Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * The principal of the current request, or null if the request is not authenticated
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public Set<Role> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    // Called by Spring Security once authentication is done, so the hash does not linger
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + ", roles=" + roles + "]";
+    }
+}
@@ -2,16 +2,11 @@ package com.revature.movieapp.movieapp.security;
 
 import com.revature.movieapp.movieapp.model.User;
 import com.revature.movieapp.movieapp.repository.UserRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.stream.Collectors;
-
 /**
  * Custom implementation of Spring Security's UserDetailsService
  * This service is responsible for loading user-specific data during authentication
@@ -40,23 +35,9 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with username: " + username));
 
-        // Convert our Role enum to Spring Security's GrantedAuthority
-        // This is what Spring Security uses to check permissions
-        Set<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.name()))
-                .collect(Collectors.toSet());
-
-        // Return Spring Security's User object (not our User entity!)
-        // This contains: username, password, and authorities (roles)
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword()) // Already encoded password from database
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        // Return our principal (not the User entity!), which also carries the user's
+        // id, email and token version so the login response needs no second lookup
+        return AuthenticatedUser.from(user);
     }
 }
 
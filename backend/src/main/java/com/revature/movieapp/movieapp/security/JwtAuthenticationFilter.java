@@ -1,6 +1,12 @@
 package com.revature.movieapp.movieapp.security;
 
 import com.revature.movieapp.movieapp.service.TokenBlacklistService;
+import com.revature.movieapp.movieapp.service.TokenVersionCache;
+import com.revature.movieapp.movieapp.trace.RequestTrace;
+import com.revature.movieapp.movieapp.trace.RequestTracer;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +14,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,100 +28,150 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Stages of the request trace
+    private static final String STAGE_HEADER = "auth.header";
+    private static final String STAGE_VERIFY = "auth.verify";
+    private static final String STAGE_USER = "auth.user";
+    private static final String STAGE_CHAIN = "chain";
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private TokenVersionCache tokenVersionCache;
 
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
 
+    @Autowired
+    private RequestTracer requestTracer;
+
     /**
      * Filter logic executed for each request
      * 1. Extract JWT token from Authorization header
-     * 2. Validate token
-     * 3. Load user details
-     * 4. Set authentication in SecurityContext
+     * 2. Verify token signature and expiry
+     * 3. Build the AuthenticatedUser principal (with the user ID) from the token claims (no database lookup)
+     * 4. Check the token version is still current (short-TTL cache)
+     * 5. Set authentication in SecurityContext
+     * Each step is timed as a stage of the request trace (see RequestTracer);
+     * for async requests the chain stage and the trace end when the async request completes
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         
-        String requestPath = request.getRequestURI();
-        String method = request.getMethod();
-        System.out.println("=== JWT FILTER === " + method + " " + requestPath);
-        
+        RequestTrace trace = requestTracer.start(request);
+        long stageStart = System.nanoTime();
+
         // Extract Authorization header
         final String authorizationHeader = request.getHeader("Authorization");
-        System.out.println("Authorization Header: " + (authorizationHeader != null ? "Present (Bearer ...)" : "Missing"));
 
-        String username = null;
         String jwt = null;
+        VerifiedToken verified = null;
 
         // Check if header contains Bearer token
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             // Extract token (remove "Bearer " prefix)
             jwt = authorizationHeader.substring(7);
-            
+        }
+        stageStart = trace.stage(STAGE_HEADER, stageStart);
+
+        if (jwt != null) {
             try {
-                // Extract username from token
-                username = jwtUtil.extractUsername(jwt);
-                System.out.println("Username extracted from JWT: " + username);
+                // Verify token once (signature and expiry) and read its claims
+                verified = jwtUtil.verify(jwt);
             } catch (Exception e) {
                 // Token is invalid or expired - log and continue
                 logger.warn("JWT Token extraction failed: " + e.getMessage());
-                System.out.println("JWT Token extraction FAILED: " + e.getMessage());
+                trace.event("jwt.invalid", "reason", e.getClass().getSimpleName());
             }
+            stageStart = trace.stage(STAGE_VERIFY, stageStart);
         }
 
-        // If we have a username and user is not already authenticated
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            // Check if token is blacklisted (user logged out)
-            if (tokenBlacklistService.isBlacklisted(jwt)) {
-                logger.warn("Token is blacklisted (user logged out)");
-                System.out.println("Token is BLACKLISTED");
-                filterChain.doFilter(request, response);
-                return;
-            }
+        // If we have a verified token and user is not already authenticated
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(request, verified, trace);
+            stageStart = trace.stage(STAGE_USER, stageStart);
+        }
 
-            // Load user details from database
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            System.out.println("User details loaded: " + userDetails.getUsername());
-            System.out.println("User authorities: " + userDetails.getAuthorities());
-
-            // Validate token
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                // Create authentication object
-                UsernamePasswordAuthenticationToken authenticationToken = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, 
-                        null, 
-                        userDetails.getAuthorities()
-                    );
-                
-                // Set authentication details
-                authenticationToken.setDetails(
-                    new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                
-                // Set authentication in SecurityContext
-                // Now Spring Security knows user is authenticated
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                
-                logger.debug("JWT Token validated successfully for user: " + username);
-                System.out.println("JWT Token validated successfully - Authentication set in SecurityContext");
+        // Continue filter chain
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // async login / streamed responses: the response is produced later
+                finishWhenComplete(request.getAsyncContext(), response, trace, stageStart);
             } else {
-                System.out.println("JWT Token validation FAILED");
+                trace.stage(STAGE_CHAIN, stageStart);
+                trace.finish(response.getStatus());
             }
-        } else {
-            System.out.println("Skipping JWT validation - username: " + username + ", existing auth: " + (SecurityContextHolder.getContext().getAuthentication() != null));
         }
+    }
 
-        // Continue filter chain
-        filterChain.doFilter(request, response);
+    // Time the chain stage and log the trace when the async request completes
+    private void finishWhenComplete(AsyncContext asyncContext, HttpServletResponse response,
+                                    RequestTrace trace, long stageStart) {
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                trace.stage(STAGE_CHAIN, stageStart);
+                trace.finish(response.getStatus());
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                trace.event("async.timeout");
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                trace.event("async.error", "reason", event.getThrowable() != null
+                        ? event.getThrowable().getClass().getSimpleName() : "unknown");
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // a re-started async cycle needs the listener again
+                event.getAsyncContext().addListener(this);
+            }
+        });
     }
-}
 
+    private void authenticate(HttpServletRequest request, VerifiedToken verified, RequestTrace trace) {
+        // Check if token is blacklisted (user logged out)
+        if (tokenBlacklistService.isBlacklisted(verified.getTokenId())) {
+            logger.debug("Token is blacklisted (user logged out)");
+            trace.event("jwt.rejected", "reason", "revoked");
+            return;
+        }
+
+        // Reject tokens issued before the user's roles or password last changed
+        if (!tokenVersionCache.isCurrent(verified.getUserId(), verified.getTokenVersion())) {
+            trace.event("jwt.rejected", "reason", "stale-version");
+            return;
+        }
+
+        // Build the principal from the verified claims
+        AuthenticatedUser userDetails = AuthenticatedUser.from(verified);
+
+        // Create authentication object
+        UsernamePasswordAuthenticationToken authenticationToken = 
+            new UsernamePasswordAuthenticationToken(
+                userDetails, 
+                null, 
+                userDetails.getAuthorities()
+            );
+        
+        // Set authentication details
+        authenticationToken.setDetails(
+            new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        
+        // Set authentication in SecurityContext
+        // Now Spring Security knows user is authenticated
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        
+        trace.event("jwt.authenticated", "userId", userDetails.getId(), "authorities", userDetails.getAuthorities());
+    }
+}
@@ -2,15 +2,23 @@ package com.revature.movieapp.movieapp.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * JWT Utility Class
@@ -19,6 +27,13 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    // Claims carried by every token, so requests can be authenticated without a user lookup
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    public static final String VERIFIED_TOKENS_CACHE = "verifiedTokens";
+
     // Secret key from application.properties
     @Value("${jwt.secret}")
     private String secret;
@@ -27,13 +42,50 @@ public class JwtUtil {
     @Value("${jwt.expiration:3600000}")
     private Long expiration;
 
+    // Built once from the secret; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens, keyed by the full token string so a hit is an exact match
+    private final Cache<Object, Object> verifiedTokens;
+
+    public JwtUtil(CacheManager cacheManager) {
+        this.verifiedTokens = ((CaffeineCache) cacheManager.getCache(VERIFIED_TOKENS_CACHE)).getNativeCache();
+    }
+
     /**
-     * Generate signing key from secret
+     * Build the signing key and parser from the secret
      * Uses HMAC-SHA algorithm for signing
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verify a JWT token and extract its claims, parsing it at most once.
+     * Tokens verified in the last few seconds are served from a small cache
+     * without repeating the HMAC check (but never past their own expiry).
+     * @param token JWT token
+     * @return the verified token
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public VerifiedToken verify(String token) {
+        Object cached = verifiedTokens.getIfPresent(token);
+        if (cached instanceof VerifiedToken verified) {
+            if (!verified.isExpired()) {
+                return verified;
+            }
+            verifiedTokens.invalidate(token);
+            throw new JwtException("JWT expired at " + verified.getExpiresAt());
+        }
+
+        VerifiedToken verified = new VerifiedToken(parser.parseClaimsJws(token).getBody());
+        verifiedTokens.put(token, verified);
+        return verified;
     }
 
     /**
@@ -42,7 +94,7 @@ public class JwtUtil {
      * @return username
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     /**
@@ -51,7 +103,7 @@ public class JwtUtil {
      * @return expiration date
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiresAt());
     }
 
     /**
@@ -60,42 +112,25 @@ public class JwtUtil {
      * @param claimsResolver function to resolve claims
      * @return extracted claim
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    /**
-     * Extract all claims from token
-     * @param token JWT token
-     * @return all claims
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Check if token is expired
-     * @param token JWT token
-     * @return true if expired, false otherwise
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public <T> T extractClaim(String token, Function<Map<String, Object>, T> claimsResolver) {
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     /**
      * Generate JWT token for user
      * @param userDetails user details
+     * @param userId the user's ID
+     * @param tokenVersion the user's current token version
      * @return JWT token
      */
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserDetails userDetails, Long userId, Long tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
-        // Add user roles to token claims
-        claims.put("authorities", userDetails.getAuthorities());
+        // Add user id, roles and token version to token claims
+        claims.put(CLAIM_USER_ID, userId);
+        claims.put(CLAIM_ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+        claims.put(CLAIM_TOKEN_VERSION, tokenVersion);
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -108,10 +143,11 @@ public class JwtUtil {
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -123,8 +159,11 @@ public class JwtUtil {
      * @return true if valid, false otherwise
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return verify(token).getSubject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
     /**
@@ -135,4 +174,3 @@ public class JwtUtil {
         return expiration;
     }
 }
-
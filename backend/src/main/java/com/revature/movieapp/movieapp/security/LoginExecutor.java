@@ -0,0 +1,56 @@
+package com.revature.movieapp.movieapp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs logins (BCrypt verification) on their own small, bounded pool instead of
+ * request threads, so a burst of logins cannot starve the rest of the API.
+ * When the queue is full, submit throws RejectedExecutionException (answered with 429).
+ *
+ * Deliberately not an Executor bean, so Spring's default task executor is unaffected.
+ * Metrics: executor.* with name=login
+ */
+@Component
+public class LoginExecutor {
+
+    private final ExecutorService executor;
+
+    public LoginExecutor(MeterRegistry meterRegistry,
+                         @Value("${auth.login.pool-size:0}") int poolSize,
+                         @Value("${auth.login.queue-capacity:100}") int queueCapacity) {
+        // Defaults to one thread per core: BCrypt is CPU bound
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "login-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "login");
+    }
+
+    /**
+     * Run a login task on the pool
+     * @throws RejectedExecutionException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.revature.movieapp.movieapp.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Implemented as the equivalent "theoretical arrival time" form (GCRA): a single
+ * timestamp says when the bucket will be full again. Taking a token pushes it one
+ * refill interval further; the request is refused if that would put it more than
+ * a full bucket's worth of intervals ahead of now. One CAS per attempt, no locks.
+ */
+final class RateLimitBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity tokens available in a burst
+     * @param refillIntervalNanos time to regain one token
+     */
+    RateLimitBucket(int capacity, long refillIntervalNanos) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take one token if available
+     * @return true if the request may proceed
+     */
+    boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until the next token is available (0 if one is available now)
+     */
+    long nanosUntilNextToken() {
+        long wait = fullAt.get() + refillIntervalNanos - burstNanos - System.nanoTime();
+        return Math.max(0, wait);
+    }
+}
@@ -1,5 +1,6 @@
 package com.revature.movieapp.movieapp.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,14 +38,18 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AuthRateLimitFilter authRateLimitFilter;
+
     /**
      * Password Encoder Bean
      * BCrypt is a strong hashing algorithm for passwords
      * It automatically handles salt generation and is resistant to rainbow table attacks
+     * Wrapped to record hashing/verification time (auth.password.hash metric)
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     /**
@@ -103,6 +108,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/movies/**").permitAll() // Anyone can view movies
                 .requestMatchers(HttpMethod.GET, "/api/persons/**").permitAll() // Anyone can view persons
                 .requestMatchers(HttpMethod.GET, "/api/roles/**").permitAll() // Anyone can view roles
+                .requestMatchers(HttpMethod.GET, "/api/genres/**").permitAll() // Anyone can browse genres
                 
                 // ADMIN ONLY ENDPOINTS - Only users with ROLE_ADMIN can access
                 .requestMatchers(HttpMethod.POST, "/movies/**").hasRole("ADMIN") // Create movies - admin only
@@ -126,7 +132,10 @@ public class SecurityConfig {
             
             // Add JWT filter before Spring Security's authentication filter
             // This intercepts requests and validates JWT tokens
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+            // Throttle login/registration attempts before anything else looks at them
+            .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
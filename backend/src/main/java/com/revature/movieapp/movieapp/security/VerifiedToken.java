@@ -0,0 +1,83 @@
+package com.revature.movieapp.movieapp.security;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Result of verifying a JWT once: signature and expiry have been checked,
+ * and the claims the application needs are already extracted.
+ * Immutable, so one instance can be shared between requests.
+ */
+public final class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    private final Long userId;
+    private final List<String> roles;
+    private final Long tokenVersion;
+    private final Instant expiresAt;
+    private final Map<String, Object> claims;
+
+    VerifiedToken(Claims claims) {
+        this.tokenId = claims.getId();
+        this.subject = claims.getSubject();
+        this.userId = longClaim(claims, JwtUtil.CLAIM_USER_ID);
+        this.roles = rolesOf(claims);
+        this.tokenVersion = longClaim(claims, JwtUtil.CLAIM_TOKEN_VERSION);
+        this.expiresAt = claims.getExpiration().toInstant();
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    // The jti claim, used to revoke this token on logout
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+
+    // Numeric claims may be deserialized as Integer or Long
+    private static Long longClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static List<String> rolesOf(Claims claims) {
+        Object roles = claims.get(JwtUtil.CLAIM_ROLES);
+        if (!(roles instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().map(String::valueOf).collect(Collectors.toUnmodifiableList());
+    }
+}
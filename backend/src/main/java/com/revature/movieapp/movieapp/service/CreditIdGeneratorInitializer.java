@@ -0,0 +1,67 @@
+package com.revature.movieapp.movieapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the pooled id generators of movie_participations and participation_roles
+ * ahead of the ids already in those tables.
+ *
+ * Both tables used AUTO_INCREMENT before they switched to the id_generators table, so
+ * on an existing database a fresh generator row would hand out ids that are taken.
+ * At startup (after Hibernate has created the tables, before the server accepts requests)
+ * each generator is raised to above MAX(id) + one allocation if it is lower. It is only
+ * ever moved forward, so instances that are already running keep their id blocks.
+ */
+@Component
+public class CreditIdGeneratorInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditIdGeneratorInitializer.class);
+
+    // Must match allocationSize of the @TableGenerators
+    private static final long ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Takes the EntityManagerFactory so it runs after the schema update
+    public CreditIdGeneratorInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        seed("movie_participations", "SELECT COALESCE(MAX(participation_id), 0) FROM movie_participations");
+        seed("participation_roles", "SELECT COALESCE(MAX(id), 0) FROM participation_roles");
+    }
+
+    private void seed(String generator, String maxIdSql) {
+        Long maxId = jdbcTemplate.queryForObject(maxIdSql, Long.class);
+        long nextId = (maxId == null ? 0 : maxId) + 1 + ALLOCATION_SIZE;
+        if (raise(generator, nextId) > 0) {
+            log.info("Raised id generator {} to {}", generator, nextId);
+            return;
+        }
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_generators WHERE generator = ?", Integer.class, generator);
+        if (exists != null && exists > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO id_generators (generator, next_id) VALUES (?, ?)", generator, nextId);
+        } catch (DuplicateKeyException e) {
+            // another instance inserted it first
+            raise(generator, nextId);
+        }
+    }
+
+    private int raise(String generator, long nextId) {
+        return jdbcTemplate.update("UPDATE id_generators SET next_id = ? WHERE generator = ? AND next_id < ?",
+                nextId, generator, nextId);
+    }
+}
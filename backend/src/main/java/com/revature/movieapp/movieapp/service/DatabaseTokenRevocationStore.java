@@ -0,0 +1,174 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.revature.movieapp.movieapp.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Token revocation store shared by all instances (jwt.revocation.store=database, the default)
+ *
+ * Revocations are rows in revoked_tokens. Each instance mirrors the live token
+ * ids into a local Bloom filter, so the usual "not revoked" answer is decided
+ * in memory; only Bloom-positive ids are checked against the table.
+ *
+ * The filter is kept up to date by polling for revisions above the highest one
+ * seen. Revisions can commit out of order, so holes in the sequence are
+ * re-checked for a while before being given up as rolled back or skipped.
+ * It is rebuilt from scratch periodically, which also drops expired ids.
+ *
+ * Metrics: auth.token.blacklist.size, auth.token.blacklist.revocations,
+ * auth.token.blacklist.evictions (as for the in-memory store), plus
+ * auth.token.revocation.bloom.positives and auth.token.revocation.bloom.false-positives
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseTokenRevocationStore implements TokenRevocationStore {
+
+    // How long a hole in the revision sequence is re-checked, and how big a hole is tracked
+    private static final long GAP_TIMEOUT_MILLIS = 60_000;
+    private static final int MAX_TRACKED_GAP = 1_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter revocations;
+    private final Counter evictions;
+    private final Counter bloomPositives;
+    private final Counter falsePositives;
+
+    // Live rows as of the last rebuild, plus the revocations picked up since
+    private final AtomicLong liveRows = new AtomicLong();
+
+    private volatile TokenBloomFilter filter;
+    private long lastRevision;
+    // Missing revision -> when the hole was first seen (epoch millis)
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    public DatabaseTokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${jwt.revocation.bloom.expected-insertions:100000}") int expectedInsertions,
+                                        @Value("${jwt.revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        Gauge.builder("auth.token.blacklist.size", liveRows, AtomicLong::get)
+                .description("Revoked tokens that had not expired at the last rebuild, plus those revoked since")
+                .register(meterRegistry);
+        this.revocations = Counter.builder("auth.token.blacklist.revocations")
+                .description("Tokens revoked by logout on this instance")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("auth.token.blacklist.evictions")
+                .description("Expired revocations deleted from the table by this instance")
+                .register(meterRegistry);
+        this.bloomPositives = Counter.builder("auth.token.revocation.bloom.positives")
+                .description("Token checks that had to go to the revocation table")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.token.revocation.bloom.false-positives")
+                .description("Bloom-positive tokens that were not revoked")
+                .register(meterRegistry);
+        this.filter = new TokenBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void loadAll() {
+        reload();
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (revokedTokenRepository.insertIfAbsent(tokenId, expiresAt) > 0) {
+            revocations.increment();
+        }
+        // visible locally right away; other instances pick it up on their next refresh
+        filter.put(tokenId);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        bloomPositives.increment();
+        boolean revoked = revokedTokenRepository.existsByTokenIdAndExpiresAtAfter(tokenId, Instant.now());
+        if (!revoked) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Add revocations committed since the last refresh to the Bloom filter
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:1000}")
+    public synchronized void refresh() {
+        Instant now = Instant.now();
+        List<RevokedTokenRepository.RevisionView> rows = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            rows.addAll(revokedTokenRepository.findLiveByRevisionIn(new ArrayList<>(gaps.keySet()), now));
+        }
+        rows.addAll(revokedTokenRepository.findLiveAfter(lastRevision, now));
+        apply(filter, rows, now.toEpochMilli());
+        // every row found here has a revision this instance had not seen yet
+        liveRows.addAndGet(rows.size());
+    }
+
+    /**
+     * Purge expired revocations and rebuild the Bloom filter from the live ones,
+     * sized for the current number of revoked tokens
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval-ms:600000}",
+               fixedDelayString = "${jwt.revocation.rebuild-interval-ms:600000}")
+    @Transactional
+    public void rebuild() {
+        int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+        evictions.increment(deleted);
+        reload();
+    }
+
+    private synchronized void reload() {
+        Instant now = Instant.now();
+        List<RevokedTokenRepository.RevisionView> rows = revokedTokenRepository.findLiveAfter(0, now);
+        TokenBloomFilter rebuilt = new TokenBloomFilter(Math.max(expectedInsertions, rows.size() * 2), falsePositiveRate);
+        lastRevision = 0;
+        gaps.clear();
+        apply(rebuilt, rows, now.toEpochMilli());
+        filter = rebuilt;
+        liveRows.set(rows.size());
+    }
+
+    // Add rows to a filter and advance lastRevision, tracking holes in the sequence
+    private void apply(TokenBloomFilter target, List<RevokedTokenRepository.RevisionView> rows, long nowMillis) {
+        for (RevokedTokenRepository.RevisionView row : rows) {
+            target.put(row.getTokenId());
+            long revision = row.getRevision();
+            gaps.remove(revision);
+            if (revision > lastRevision) {
+                if (lastRevision > 0 && revision - lastRevision - 1 <= MAX_TRACKED_GAP) {
+                    for (long missing = lastRevision + 1; missing < revision; missing++) {
+                        gaps.put(missing, nowMillis);
+                    }
+                }
+                lastRevision = revision;
+            }
+        }
+        gaps.values().removeIf(firstSeen -> nowMillis - firstSeen > GAP_TIMEOUT_MILLIS);
+    }
+}
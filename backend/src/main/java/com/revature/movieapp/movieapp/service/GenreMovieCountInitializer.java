@@ -0,0 +1,46 @@
+package com.revature.movieapp.movieapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds genres.movie_count from the movie_genres rows at startup.
+ *
+ * The column was added with a default of 0, so on an existing database every genre
+ * starts out empty. Only genres whose count differs from their movie_genres rows are
+ * rewritten (the genres table is small, so the check is cheap); once the counts are
+ * seeded the statement matches nothing and GenreService keeps them in sync from then on.
+ */
+@Component
+public class GenreMovieCountInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GenreMovieCountInitializer.class);
+
+    private static final String SEED_SQL = "UPDATE genres"
+            + " SET movie_count = (SELECT COUNT(*) FROM movie_genres mg WHERE mg.genre_id = genres.genre_id)"
+            + " WHERE movie_count <> (SELECT COUNT(*) FROM movie_genres mg WHERE mg.genre_id = genres.genre_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
+
+    public GenreMovieCountInitializer(JdbcTemplate jdbcTemplate, ReferenceDataSnapshot referenceDataSnapshot) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.referenceDataSnapshot = referenceDataSnapshot;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int seeded = jdbcTemplate.update(SEED_SQL);
+        if (seeded == 0) {
+            return;
+        }
+        log.info("Seeded the movie count of {} genres", seeded);
+
+        // the snapshot was loaded before the counts were seeded
+        referenceDataSnapshot.refresh();
+    }
+}
@@ -1,15 +1,18 @@
 package com.revature.movieapp.movieapp.service;
 
 import com.revature.movieapp.movieapp.model.Genre;
-import com.revature.movieapp.movieapp.model.Movie;
-import com.revature.movieapp.movieapp.model.MovieGenres;
 import com.revature.movieapp.movieapp.repository.GenreRepository;
 import com.revature.movieapp.movieapp.repository.MovieGenresRepository;
 import com.revature.movieapp.movieapp.repository.MovieRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -18,17 +21,23 @@ public class GenreService {
     private final GenreRepository genreRepository;
     private final MovieRepository movieRepository;
     private final MovieGenresRepository movieGenresRepository;
+    private final MovieDetailsCache movieDetailsCache;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
 
     public GenreService(GenreRepository genreRepository,
                        MovieRepository movieRepository,
-                       MovieGenresRepository movieGenresRepository) {
+                       MovieGenresRepository movieGenresRepository,
+                       MovieDetailsCache movieDetailsCache,
+                       ReferenceDataSnapshot referenceDataSnapshot) {
         this.genreRepository = genreRepository;
         this.movieRepository = movieRepository;
         this.movieGenresRepository = movieGenresRepository;
+        this.movieDetailsCache = movieDetailsCache;
+        this.referenceDataSnapshot = referenceDataSnapshot;
     }
 
     /**
-     * Get all genres
+     * Get all genres, each with its precomputed movie count
      */
     public List<Genre> getAllGenres() {
         return genreRepository.findAll();
@@ -38,30 +47,65 @@ public class GenreService {
      * Add genre to a movie
      */
     public void addGenreToMovie(Long movieId, Long genreId) {
-        // Validate movie exists
-        Movie movie = movieRepository.findById(movieId)
-                .orElseThrow(() -> new RuntimeException("Movie not found with id: " + movieId));
-
-        // Validate genre exists
-        Genre genre = genreRepository.findById(genreId)
-                .orElseThrow(() -> new RuntimeException("Genre not found with id: " + genreId));
-
-        // Create MovieGenres relationship
-        MovieGenres.MovieGenresId id = new MovieGenres.MovieGenresId(movieId, genreId);
-        MovieGenres movieGenres = new MovieGenres();
-        movieGenres.setId(id);
-        movieGenres.setMovie(movie);
-        movieGenres.setGenre(genre);
-
-        movieGenresRepository.save(movieGenres);
+        addGenresToMovie(movieId, List.of(genreId));
     }
 
     /**
-     * Add multiple genres to a movie
+     * Add multiple genres to a movie (genres it already has are left alone)
      */
-    public void addGenresToMovie(Long movieId, List<Long> genreIds) {
-        for (Long genreId : genreIds) {
-            addGenreToMovie(movieId, genreId);
+    public void addGenresToMovie(Long movieId, Collection<Long> genreIds) {
+        updateMovieGenres(movieId, genreIds, false);
+    }
+
+    /**
+     * Replace the genres of a movie with the given set
+     */
+    public void replaceMovieGenres(Long movieId, Collection<Long> genreIds) {
+        updateMovieGenres(movieId, genreIds, true);
+    }
+
+    /**
+     * Set-based genre update: the movie is checked once, all genre ids are validated
+     * with one query, and only the difference with the current movie_genres rows is
+     * written (one INSERT for all new links, one DELETE for all removed ones), so it
+     * takes at most seven statements however many genres are involved (the other two
+     * adjust the movie counts of the added and removed genres).
+     */
+    private void updateMovieGenres(Long movieId, Collection<Long> genreIds, boolean removeOthers) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new RuntimeException("Movie not found with id: " + movieId);
+        }
+
+        Set<Long> wanted = new LinkedHashSet<>(genreIds);
+        if (!wanted.isEmpty()) {
+            Set<Long> missing = new LinkedHashSet<>(wanted);
+            genreRepository.findExistingIds(wanted).forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                throw new RuntimeException("Genre not found with id: " + missing.stream()
+                        .map(String::valueOf).collect(Collectors.joining(", ")));
+            }
+        }
+
+        Set<Long> current = new HashSet<>(movieGenresRepository.findGenreIdsByMovieId(movieId));
+        Set<Long> toAdd = new LinkedHashSet<>(wanted);
+        toAdd.removeAll(current);
+        Set<Long> toRemove = new HashSet<>();
+        if (removeOthers) {
+            toRemove.addAll(current);
+            toRemove.removeAll(wanted);
+        }
+
+        if (!toRemove.isEmpty()) {
+            movieGenresRepository.deleteGenres(movieId, toRemove);
+            genreRepository.adjustMovieCounts(toRemove, -1);
+        }
+        if (!toAdd.isEmpty()) {
+            movieGenresRepository.insertGenres(movieId, toAdd);
+            genreRepository.adjustMovieCounts(toAdd, 1);
+        }
+        if (!toAdd.isEmpty() || !toRemove.isEmpty()) {
+            movieDetailsCache.evict(movieId);
+            referenceDataSnapshot.refreshGenresAfterCommit();
         }
     }
 
@@ -69,8 +113,23 @@ public class GenreService {
      * Remove genre from movie
      */
     public void removeGenreFromMovie(Long movieId, Long genreId) {
-        MovieGenres.MovieGenresId id = new MovieGenres.MovieGenresId(movieId, genreId);
-        movieGenresRepository.deleteById(id);
+        if (movieGenresRepository.deleteGenres(movieId, List.of(genreId)) > 0) {
+            genreRepository.adjustMovieCounts(List.of(genreId), -1);
+            referenceDataSnapshot.refreshGenresAfterCommit();
+        }
+        movieDetailsCache.evict(movieId);
+    }
+
+    /**
+     * Remove all genres from a movie (before it is deleted)
+     */
+    public void removeAllGenresFromMovie(Long movieId) {
+        List<Long> genreIds = movieGenresRepository.findGenreIdsByMovieId(movieId);
+        if (!genreIds.isEmpty()) {
+            movieGenresRepository.deleteByMovieId(movieId);
+            genreRepository.adjustMovieCounts(genreIds, -1);
+            referenceDataSnapshot.refreshGenresAfterCommit();
+        }
     }
 }
 
@@ -0,0 +1,159 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.revature.movieapp.movieapp.repository.ReviewRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Buffers helpful votes in memory and writes them to reviews.helpful_count in batches.
+ *
+ * Each review has its own LongAdder, so concurrent votes on a popular review
+ * spread over striped cells instead of queueing on the review's row lock.
+ * A scheduled flush drains every counter and applies all non-zero deltas
+ * with one JDBC batch of relative UPDATEs in a single transaction, then evicts
+ * the cached details of the movies whose reviews changed.
+ */
+@Component
+public class HelpfulVoteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(HelpfulVoteBuffer.class);
+
+    private static final String FLUSH_SQL = "UPDATE reviews SET helpful_count = helpful_count + ? WHERE review_id = ?";
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final ReviewRepository reviewRepository;
+    private final MovieDetailsCache movieDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public HelpfulVoteBuffer(JdbcTemplate jdbcTemplate,
+                             ReviewRepository reviewRepository,
+                             MovieDetailsCache movieDetailsCache,
+                             PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reviewRepository = reviewRepository;
+        this.movieDetailsCache = movieDetailsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Count one vote for a review.
+     * Inside a transaction the vote is only counted once it commits.
+     */
+    public void record(Long reviewId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(reviewId);
+                }
+            });
+        } else {
+            increment(reviewId);
+        }
+    }
+
+    /**
+     * Drop the buffered votes of a deleted review.
+     * Inside a transaction they are only dropped once it commits.
+     */
+    public void discard(Long reviewId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.remove(reviewId);
+                }
+            });
+        } else {
+            pending.remove(reviewId);
+        }
+    }
+
+    private void increment(Long reviewId) {
+        add(reviewId, 1);
+    }
+
+    private void add(Long reviewId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        LongAdder adder = pending.computeIfAbsent(reviewId, id -> new LongAdder());
+        adder.add(delta);
+        if (pending.get(reviewId) != adder) {
+            // the flush retired this counter meanwhile: move what it still holds to a live one
+            add(reviewId, adder.sumThenReset());
+        }
+    }
+
+    /**
+     * Write all buffered votes to the database.
+     * sumThenReset drains each counter cell by cell, so a vote that races with
+     * the flush is counted either now or in the next flush, never lost.
+     * A counter that was idle for a whole interval is removed and drained once more;
+     * a vote that reaches it after the removal is moved to a fresh counter by add().
+     */
+    @Scheduled(fixedDelayString = "${reviews.helpful.flush-interval-ms:250}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[] { delta, entry.getKey() });
+            } else {
+                // idle for a whole interval: drop the counter so the map only holds recently
+                // voted reviews. Drain it once more for votes that landed before the removal;
+                // votes that land after it are moved by add()
+                pending.remove(entry.getKey(), entry.getValue());
+                long late = entry.getValue().sumThenReset();
+                if (late != 0) {
+                    batch.add(new Object[] { late, entry.getKey() });
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // one transaction: either every delta is written or none is, so a retry never double-counts
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // nothing was written: put the deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+            log.warn("Failed to flush {} helpful vote deltas, will retry", batch.size(), e);
+            return;
+        }
+
+        // the batch is committed: cached details still show the old helpful counts
+        try {
+            List<Long> reviewIds = batch.stream().map(row -> (Long) row[1]).toList();
+            reviewRepository.findMovieIdsByReviewIdIn(reviewIds).forEach(movieDetailsCache::evict);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict movie details after flushing helpful votes", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,105 @@
+package com.revature.movieapp.movieapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-JVM token revocation store (jwt.revocation.store=memory)
+ *
+ * Tokens are identified by their jti claim and kept only until they expire:
+ * after that the token fails verification anyway, so the entry is dropped.
+ * Expiry order is tracked in a DelayQueue and swept periodically, which keeps
+ * the set bounded by the number of live revoked tokens.
+ *
+ * Metrics: auth.token.blacklist.size, auth.token.blacklist.revocations,
+ * auth.token.blacklist.evictions (under /actuator/metrics)
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "memory")
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    // Revoked token id -> expiry (epoch millis); read lock-free on every request
+    private final Map<String, Long> blacklistedTokens = new ConcurrentHashMap<>();
+
+    // Same entries ordered by expiry, only touched on logout and by the sweep
+    private final DelayQueue<Revocation> expiryQueue = new DelayQueue<>();
+
+    private final Counter revocations;
+    private final Counter evictions;
+
+    public InMemoryTokenRevocationStore(MeterRegistry meterRegistry) {
+        Gauge.builder("auth.token.blacklist.size", blacklistedTokens, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        this.revocations = Counter.builder("auth.token.blacklist.revocations")
+                .description("Tokens revoked by logout")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("auth.token.blacklist.evictions")
+                .description("Revoked tokens dropped after they expired")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return; // already expired, nothing to revoke
+        }
+        if (blacklistedTokens.putIfAbsent(tokenId, expiresAtMillis) == null) {
+            expiryQueue.add(new Revocation(tokenId, expiresAtMillis));
+            revocations.increment();
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && blacklistedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Drop entries whose token has expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.sweep-interval-ms:10000}")
+    public void evictExpired() {
+        Revocation expired;
+        while ((expired = expiryQueue.poll()) != null) {
+            if (blacklistedTokens.remove(expired.tokenId, expired.expiresAtMillis)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * A revoked token id, due for eviction when the token expires
+     */
+    private static final class Revocation implements Delayed {
+        private final String tokenId;
+        private final long expiresAtMillis;
+
+        private Revocation(String tokenId, long expiresAtMillis) {
+            this.tokenId = tokenId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((Revocation) other).expiresAtMillis);
+        }
+    }
+}
@@ -11,7 +11,12 @@ import com.revature.movieapp.movieapp.repository.PersonRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class MovieCastService {
@@ -21,18 +26,21 @@ public class MovieCastService {
     private final MovieRepository movieRepository;
     private final PersonRepository personRepository;
     private final MovieRoleRepository roleRepository;
+    private final MovieDetailsCache movieDetailsCache;
 
     public MovieCastService(
             MovieParticipationRepository participationRepository,
             ParticipationRoleRepository participationRoleRepository,
             MovieRepository movieRepository,
             PersonRepository personRepository,
-            MovieRoleRepository roleRepository) {
+            MovieRoleRepository roleRepository,
+            MovieDetailsCache movieDetailsCache) {
         this.participationRepository = participationRepository;
         this.participationRoleRepository = participationRoleRepository;
         this.movieRepository = movieRepository;
         this.personRepository = personRepository;
         this.roleRepository = roleRepository;
+        this.movieDetailsCache = movieDetailsCache;
     }
 
     /**
@@ -72,15 +80,83 @@ public class MovieCastService {
                 .build();
 
         participationRoleRepository.save(participationRole);
+        // recounted after the insert, so concurrent credits for the same movie cannot double-count
+        personRepository.refreshMovieCounts(List.of(castCrewDTO.getPersonId()));
+        movieDetailsCache.evict(movieId);
     }
 
     /**
      * Add multiple cast/crew members to a movie at once
+     * Set-based: every person and role id is validated with one IN query each, all invalid
+     * entries are reported together, and the participations and participation roles are
+     * inserted as JDBC batches (ids come from the pooled table generators, so Hibernate can
+     * batch them). The statement count grows with the number of batches, not entries.
+     * @throws InvalidCastCrewException listing every entry with an unknown person or role
      */
     @Transactional
     public void addMultipleCastCrewToMovie(Long movieId, List<MovieCastCrewDTO> castCrewList) {
-        for (MovieCastCrewDTO castCrew : castCrewList) {
-            addCastCrewToMovie(movieId, castCrew);
+        if (!movieRepository.existsById(movieId)) {
+            throw new RuntimeException("Movie not found with id: " + movieId);
+        }
+        if (castCrewList.isEmpty()) {
+            return;
+        }
+
+        Set<Long> personIds = castCrewList.stream().map(MovieCastCrewDTO::getPersonId).collect(Collectors.toSet());
+        Set<Long> roleIds = castCrewList.stream().map(MovieCastCrewDTO::getRoleId).collect(Collectors.toSet());
+        Set<Long> existingPersonIds = new HashSet<>(personRepository.findExistingIds(personIds));
+        Set<Long> existingRoleIds = new HashSet<>(roleRepository.findExistingIds(roleIds));
+
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < castCrewList.size(); i++) {
+            MovieCastCrewDTO castCrew = castCrewList.get(i);
+            if (!existingPersonIds.contains(castCrew.getPersonId())) {
+                errors.add("entry " + i + ": Person not found with id: " + castCrew.getPersonId());
+            }
+            if (!existingRoleIds.contains(castCrew.getRoleId())) {
+                errors.add("entry " + i + ": Role not found with id: " + castCrew.getRoleId());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidCastCrewException(errors);
+        }
+
+        // Ids are assigned on persist; the inserts themselves are batched at flush
+        List<MovieParticipation> participations = castCrewList.stream()
+                .map(castCrew -> MovieParticipation.builder()
+                        .movieId(movieId)
+                        .personId(castCrew.getPersonId())
+                        .build())
+                .collect(Collectors.toList());
+        participationRepository.saveAll(participations);
+
+        List<ParticipationRole> participationRoles = new ArrayList<>(castCrewList.size());
+        for (int i = 0; i < castCrewList.size(); i++) {
+            participationRoles.add(ParticipationRole.builder()
+                    .participationId(participations.get(i).getParticipationId())
+                    .roleId(castCrewList.get(i).getRoleId())
+                    .note(castCrewList.get(i).getCharacterName())
+                    .build());
+        }
+        participationRoleRepository.saveAll(participationRoles);
+
+        personRepository.refreshMovieCounts(personIds);
+        movieDetailsCache.evict(movieId);
+    }
+
+    /**
+     * Thrown by the bulk import when entries reference persons or roles that do not exist
+     */
+    public static class InvalidCastCrewException extends RuntimeException {
+        private final List<String> errors;
+
+        public InvalidCastCrewException(List<String> errors) {
+            super("Invalid cast/crew entries: " + String.join("; ", errors));
+            this.errors = List.copyOf(errors);
+        }
+
+        public List<String> getErrors() {
+            return errors;
         }
     }
 
@@ -89,6 +165,9 @@ public class MovieCastService {
      */
     @Transactional
     public void removeCastCrewFromMovie(Long participationId) {
+        Optional<MovieParticipation> participation = participationRepository.findById(participationId);
+        participation.ifPresent(p -> movieDetailsCache.evict(p.getMovieId()));
+
         // First delete all participation roles
         List<ParticipationRole> participationRoles = 
                 participationRoleRepository.findByParticipationId(participationId);
@@ -96,6 +175,9 @@ public class MovieCastService {
 
         // Then delete the participation
         participationRepository.deleteById(participationId);
+
+        // Recounted after the delete (only the person's last credit in the movie lowers it)
+        participation.ifPresent(p -> personRepository.refreshMovieCounts(List.of(p.getPersonId())));
     }
 
     /**
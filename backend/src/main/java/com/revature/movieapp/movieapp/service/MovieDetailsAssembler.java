@@ -0,0 +1,279 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.revature.movieapp.movieapp.dto.MovieFullDetailsDTO;
+import com.revature.movieapp.movieapp.dto.RatingHistogramDTO;
+import com.revature.movieapp.movieapp.model.CreditCategory;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.MovieGenres;
+import com.revature.movieapp.movieapp.model.MovieParticipation;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.model.ParticipationRole;
+import com.revature.movieapp.movieapp.model.Person;
+import com.revature.movieapp.movieapp.model.Review;
+import com.revature.movieapp.movieapp.repository.MovieGenresRepository;
+import com.revature.movieapp.movieapp.repository.MovieParticipationRepository;
+import com.revature.movieapp.movieapp.repository.ParticipationRoleRepository;
+import com.revature.movieapp.movieapp.repository.PersonRepository;
+import com.revature.movieapp.movieapp.repository.ReviewRepository;
+
+/**
+ * Builds MovieFullDetailsDTOs for one or more movies.
+ *
+ * Every relation (reviews, usernames, genres, participations, persons,
+ * participation roles) is loaded with one IN-list query for the whole batch
+ * and joined in memory, with movie roles taken from MovieRoleCache, so the
+ * number of queries stays the same no matter how many cast members or reviews a movie has.
+ * Only the first page of reviews is embedded, so the DTO size stays bounded too.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MovieDetailsAssembler {
+
+    static final int REVIEWS_FIRST_PAGE_SIZE = 20;
+
+    private final ReviewRepository reviewRepository;
+    private final UsernameCache usernameCache;
+    private final MovieGenresRepository movieGenresRepository;
+    private final MovieParticipationRepository movieParticipationRepository;
+    private final PersonRepository personRepository;
+    private final ParticipationRoleRepository participationRoleRepository;
+    private final MovieRoleCache movieRoleCache;
+
+    public MovieDetailsAssembler(ReviewRepository reviewRepository,
+                                 UsernameCache usernameCache,
+                                 MovieGenresRepository movieGenresRepository,
+                                 MovieParticipationRepository movieParticipationRepository,
+                                 PersonRepository personRepository,
+                                 ParticipationRoleRepository participationRoleRepository,
+                                 MovieRoleCache movieRoleCache) {
+        this.reviewRepository = reviewRepository;
+        this.usernameCache = usernameCache;
+        this.movieGenresRepository = movieGenresRepository;
+        this.movieParticipationRepository = movieParticipationRepository;
+        this.personRepository = personRepository;
+        this.participationRoleRepository = participationRoleRepository;
+        this.movieRoleCache = movieRoleCache;
+    }
+
+    /**
+     * Assemble the full details of a single movie
+     */
+    public MovieFullDetailsDTO assemble(Movie movie) {
+        return assemble(List.of(movie)).get(0);
+    }
+
+    /**
+     * Assemble the full details of a batch of movies, in the order given
+     */
+    public List<MovieFullDetailsDTO> assemble(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> movieIds = movies.stream().map(Movie::getMovieId).collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, ReviewPage> reviewsByMovie = loadReviews(movieIds);
+        Map<Long, List<MovieFullDetailsDTO.GenreDTO>> genresByMovie = loadGenres(movieIds);
+        Map<Long, CastAndCrew> creditsByMovie = loadCredits(movieIds);
+
+        List<MovieFullDetailsDTO> result = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            CastAndCrew credits = creditsByMovie.getOrDefault(movie.getMovieId(), new CastAndCrew());
+            ReviewPage reviews = reviewsByMovie.getOrDefault(movie.getMovieId(), new ReviewPage());
+            result.add(MovieFullDetailsDTO.builder()
+                    .movieId(movie.getMovieId())
+                    .title(movie.getTitle())
+                    .releaseYear(movie.getReleaseYear())
+                    .duration(movie.getDuration())
+                    .description(movie.getDescription())
+                    .language(movie.getLanguage())
+                    .country(movie.getCountry())
+                    .posterUrl(movie.getPosterUrl())
+                    .avgRating(movie.getAvgRating())
+                    .ratingHistogram(RatingHistogramDTO.from(movie))
+                    .genres(genresByMovie.getOrDefault(movie.getMovieId(), new ArrayList<>()))
+                    .cast(credits.cast)
+                    .directors(credits.directors)
+                    .producers(credits.producers)
+                    .writers(credits.writers)
+                    .reviews(reviews.reviews)
+                    .reviewCount(movie.getRatingCount()) // every review has a rating, so this is exact
+                    .reviewsNextCursor(reviews.nextCursor)
+                    .trailerUrl(movie.getTrailerUrl())
+                    .build());
+        }
+        return result;
+    }
+
+    // First page of each movie's reviews, newest first, with the username of each
+    // author resolved through the username cache (at most one query for all misses).
+    // One extra review per movie is read to detect a next page.
+    private Map<Long, ReviewPage> loadReviews(Set<Long> movieIds) {
+        List<Review> reviews = reviewRepository.findNewestByMovieIdIn(movieIds, REVIEWS_FIRST_PAGE_SIZE + 1);
+        if (reviews.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> userIds = reviews.stream().map(Review::getUserId).collect(Collectors.toSet());
+        Map<Long, String> usernames = usernameCache.getUsernames(userIds);
+
+        Map<Long, ReviewPage> reviewsByMovie = new HashMap<>();
+        Map<Long, Review> lastByMovie = new HashMap<>();
+        for (Review review : reviews) {
+            ReviewPage page = reviewsByMovie.computeIfAbsent(review.getMovieId(), id -> new ReviewPage());
+            if (page.reviews.size() == REVIEWS_FIRST_PAGE_SIZE) {
+                // the extra row: there is a next page, starting after the last review shown
+                page.nextCursor = ReviewService.ReviewSort.UPDATED_AT.cursorAfter(lastByMovie.get(review.getMovieId()));
+                continue;
+            }
+            lastByMovie.put(review.getMovieId(), review);
+            String userName = usernames.getOrDefault(review.getUserId(), "User" + review.getUserId());
+            page.reviews.add(MovieFullDetailsDTO.ReviewDTO.builder()
+                    .reviewId(review.getReviewId())
+                    .userId(review.getUserId())
+                    .movieId(review.getMovieId())
+                    .rating(review.getRating())
+                    .reviewText(review.getReviewText())
+                    .helpfulCount(review.getHelpfulCount())
+                    .createdAt(review.getCreatedAt())
+                    .updatedAt(review.getUpdatedAt())
+                    .userName(userName)
+                    .build());
+        }
+        return reviewsByMovie;
+    }
+
+    /**
+     * The embedded first page of one movie's reviews
+     */
+    private static class ReviewPage {
+        private final List<MovieFullDetailsDTO.ReviewDTO> reviews = new ArrayList<>();
+        private String nextCursor;
+    }
+
+    private Map<Long, List<MovieFullDetailsDTO.GenreDTO>> loadGenres(Set<Long> movieIds) {
+        Map<Long, List<MovieFullDetailsDTO.GenreDTO>> genresByMovie = new HashMap<>();
+        for (MovieGenres mg : movieGenresRepository.findWithGenreByMovieIdIn(movieIds)) {
+            genresByMovie.computeIfAbsent(mg.getId().getMovieId(), id -> new ArrayList<>())
+                    .add(MovieFullDetailsDTO.GenreDTO.builder()
+                            .genreId(mg.getGenre().getGenreId())
+                            .name(mg.getGenre().getGenreName())
+                            .description(mg.getGenre().getDescription())
+                            .build());
+        }
+        return genresByMovie;
+    }
+
+    // Participations, persons and participation roles: one query each.
+    // Movie roles come from MovieRoleCache, and each person is listed once per movie,
+    // with the roles of all their participations, under the categories of those roles.
+    private Map<Long, CastAndCrew> loadCredits(Set<Long> movieIds) {
+        List<MovieParticipation> participations = movieParticipationRepository.findByMovieIdIn(movieIds);
+        if (participations.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> personIds = participations.stream().map(MovieParticipation::getPersonId).collect(Collectors.toSet());
+        Map<Long, Person> persons = personRepository.findAllById(personIds).stream()
+                .collect(Collectors.toMap(Person::getPersonId, Function.identity()));
+
+        Set<Long> participationIds = participations.stream()
+                .map(MovieParticipation::getParticipationId)
+                .collect(Collectors.toSet());
+        List<ParticipationRole> participationRoles = participationRoleRepository.findByParticipationIdIn(participationIds);
+        Map<Long, List<ParticipationRole>> rolesByParticipation = participationRoles.stream()
+                .collect(Collectors.groupingBy(ParticipationRole::getParticipationId));
+
+        Set<Long> roleIds = participationRoles.stream().map(ParticipationRole::getRoleId).collect(Collectors.toSet());
+        Map<Long, MovieRole> movieRoles = roleIds.isEmpty()
+                ? Collections.emptyMap()
+                : movieRoleCache.getRoles(roleIds);
+
+        Map<Long, CastAndCrew> creditsByMovie = new HashMap<>();
+        for (MovieParticipation participation : participations) {
+            Person person = persons.get(participation.getPersonId());
+            if (person == null) continue;
+
+            PersonCredits credits = creditsByMovie.computeIfAbsent(participation.getMovieId(), id -> new CastAndCrew())
+                    .credits(person);
+            for (ParticipationRole pr : rolesByParticipation.getOrDefault(participation.getParticipationId(), List.of())) {
+                MovieRole movieRole = movieRoles.get(pr.getRoleId());
+                if (movieRole == null) continue;
+                credits.person.getRoles().add(MovieFullDetailsDTO.RoleDTO.builder()
+                        .roleId(movieRole.getRoleId())
+                        .roleName(movieRole.getName())
+                        .roleDescription(movieRole.getDescription())
+                        .note(pr.getNote())
+                        .build());
+                credits.categories.add(movieRole.getCategory());
+            }
+        }
+        creditsByMovie.values().forEach(CastAndCrew::group);
+        return creditsByMovie;
+    }
+
+    /**
+     * One person's credits in one movie, with the categories of their roles
+     */
+    private static class PersonCredits {
+        private final MovieFullDetailsDTO.PersonParticipationDTO person;
+        private final Set<CreditCategory> categories = EnumSet.noneOf(CreditCategory.class);
+
+        private PersonCredits(MovieFullDetailsDTO.PersonParticipationDTO person) {
+            this.person = person;
+        }
+    }
+
+    /**
+     * Cast and crew of one movie, grouped by role category
+     */
+    private static class CastAndCrew {
+        // keyed by person id, in order of each person's first participation
+        private final Map<Long, PersonCredits> creditsByPerson = new LinkedHashMap<>();
+        private final List<MovieFullDetailsDTO.PersonParticipationDTO> cast = new ArrayList<>();
+        private final List<MovieFullDetailsDTO.PersonParticipationDTO> directors = new ArrayList<>();
+        private final List<MovieFullDetailsDTO.PersonParticipationDTO> producers = new ArrayList<>();
+        private final List<MovieFullDetailsDTO.PersonParticipationDTO> writers = new ArrayList<>();
+
+        private PersonCredits credits(Person person) {
+            return creditsByPerson.computeIfAbsent(person.getPersonId(), id -> new PersonCredits(
+                    MovieFullDetailsDTO.PersonParticipationDTO.builder()
+                            .personId(person.getPersonId())
+                            .name(person.getName())
+                            .birthDate(person.getBirthDate())
+                            .bio(person.getBio())
+                            .profileUrl(person.getProfileUrl())
+                            .roles(new ArrayList<>())
+                            .build()));
+        }
+
+        // Each person goes into every group one of their roles belongs to, once
+        private void group() {
+            for (PersonCredits credits : creditsByPerson.values()) {
+                for (CreditCategory category : credits.categories) {
+                    switch (category) {
+                        case CAST -> cast.add(credits.person);
+                        case DIRECTOR -> directors.add(credits.person);
+                        case PRODUCER -> producers.add(credits.person);
+                        case WRITER -> writers.add(credits.person);
+                        case OTHER -> { }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.revature.movieapp.movieapp.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidation side of the movie full details cache.
+ * Entries are filled by @Cacheable on MovieService.getMovieFullDetails;
+ * every write that changes what the detail page shows calls evict(movieId).
+ */
+@Component
+public class MovieDetailsCache {
+
+    public static final String CACHE_NAME = "movieFullDetails";
+
+    private final Cache cache;
+
+    public MovieDetailsCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * Evict the cached details of one movie.
+     * Inside a transaction the entry is evicted again after commit, so a read
+     * that runs between the write and the commit cannot leave a stale copy behind.
+     */
+    public void evict(Long movieId) {
+        if (movieId == null) {
+            return;
+        }
+        cache.evict(movieId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(movieId);
+                }
+            });
+        }
+    }
+}
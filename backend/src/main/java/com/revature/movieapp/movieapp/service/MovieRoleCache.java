@@ -0,0 +1,68 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.revature.movieapp.movieapp.model.MovieRole;
+
+/**
+ * The whole roles reference table, as one immutable map.
+ * The roles are the ones held by ReferenceDataSnapshot, which also serves them as
+ * JSON, so there is a single cached copy of the table, loaded with a single query
+ * and reloaded with the rest of the reference data. Asking for a role id that is not
+ * in it reloads the roles, so roles added elsewhere are picked up at once; such
+ * reloads happen at most once per MISS_RELOAD_INTERVAL, so ids that do not exist
+ * (e.g. a dangling participation_roles.role_id) cannot force a reload on every call.
+ * The roles are shared: callers must not modify them.
+ */
+@Component
+public class MovieRoleCache {
+
+    private static final long MISS_RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final ReferenceDataSnapshot referenceDataSnapshot;
+    // System.nanoTime() of the last reload caused by an unknown role id
+    private final AtomicLong lastMissReload = new AtomicLong(System.nanoTime() - MISS_RELOAD_INTERVAL_NANOS);
+
+    public MovieRoleCache(ReferenceDataSnapshot referenceDataSnapshot) {
+        this.referenceDataSnapshot = referenceDataSnapshot;
+    }
+
+    /**
+     * All roles by id, in id order
+     */
+    public Map<Long, MovieRole> getAll() {
+        return referenceDataSnapshot.getRolesById();
+    }
+
+    /**
+     * The roles with the given ids (reloading if any of them is not cached yet, unless
+     * that was done less than MISS_RELOAD_INTERVAL ago); ids of roles that do not exist are left out
+     */
+    public Map<Long, MovieRole> getRoles(Collection<Long> roleIds) {
+        Map<Long, MovieRole> roles = getAll();
+        if (!roles.keySet().containsAll(roleIds) && claimMissReload()) {
+            reload();
+            roles = getAll();
+        }
+        return roles;
+    }
+
+    // True for the one caller allowed to reload now
+    private boolean claimMissReload() {
+        long now = System.nanoTime();
+        long last = lastMissReload.get();
+        return now - last >= MISS_RELOAD_INTERVAL_NANOS && lastMissReload.compareAndSet(last, now);
+    }
+
+    /**
+     * Reload the roles now (the JSON served by ReferenceDataSnapshot follows)
+     */
+    public void reload() {
+        referenceDataSnapshot.refreshRoles();
+    }
+}
@@ -5,28 +5,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.revature.movieapp.movieapp.dto.CursorPage;
 import com.revature.movieapp.movieapp.dto.MovieFullDetailsDTO;
 import com.revature.movieapp.movieapp.dto.MovieWithGenresDTO;
-import com.revature.movieapp.movieapp.model.Genre;
+import com.revature.movieapp.movieapp.dto.RatingHistogramDTO;
 import com.revature.movieapp.movieapp.model.Movie;
-import com.revature.movieapp.movieapp.model.MovieGenres;
-import com.revature.movieapp.movieapp.model.MovieParticipation;
-import com.revature.movieapp.movieapp.model.MovieRole;
-import com.revature.movieapp.movieapp.model.ParticipationRole;
-import com.revature.movieapp.movieapp.model.Person;
-import com.revature.movieapp.movieapp.model.Review;
-import com.revature.movieapp.movieapp.model.User;
 import com.revature.movieapp.movieapp.repository.GenreRepository;
 import com.revature.movieapp.movieapp.repository.MovieGenresRepository;
-import com.revature.movieapp.movieapp.repository.MovieParticipationRepository;
 import com.revature.movieapp.movieapp.repository.MovieRepository;
-import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
-import com.revature.movieapp.movieapp.repository.ParticipationRoleRepository;
-import com.revature.movieapp.movieapp.repository.PersonRepository;
-import com.revature.movieapp.movieapp.repository.ReviewRepository;
-import com.revature.movieapp.movieapp.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
 
@@ -37,33 +29,22 @@ public class MovieService {
     private final MovieRepository movieRepository;
     private final MovieGenresRepository movieGenresRepository;
     private final GenreRepository genreRepository;
-    private final MovieParticipationRepository movieParticipationRepository;
-    private final PersonRepository personRepository;
-    private final ParticipationRoleRepository participationRoleRepository;
-    private final MovieRoleRepository movieRoleRepository;
-    // Assuming a ReviewRepository exists
-    private final ReviewRepository reviewRepository;
-    // Assuming a UserRepository exists
-    private final UserRepository userRepository;
+    private final MovieDetailsAssembler movieDetailsAssembler;
+    private final MovieDetailsCache movieDetailsCache;
+    private final GenreService genreService;
     
     public MovieService(MovieRepository movieRepository, 
                        MovieGenresRepository movieGenresRepository,
                        GenreRepository genreRepository,
-                       MovieParticipationRepository movieParticipationRepository,
-                       PersonRepository personRepository,
-                       ParticipationRoleRepository participationRoleRepository,
-                       MovieRoleRepository movieRoleRepository,
-                       ReviewRepository reviewRepository,
-                       UserRepository userRepository) {
+                       MovieDetailsAssembler movieDetailsAssembler,
+                       MovieDetailsCache movieDetailsCache,
+                       GenreService genreService) {
         this.movieRepository = movieRepository;
         this.movieGenresRepository = movieGenresRepository;
         this.genreRepository = genreRepository;
-        this.movieParticipationRepository = movieParticipationRepository;
-        this.personRepository = personRepository;
-        this.reviewRepository = reviewRepository;
-        this.participationRoleRepository = participationRoleRepository;
-        this.movieRoleRepository = movieRoleRepository;
-        this.userRepository = userRepository;
+        this.movieDetailsAssembler = movieDetailsAssembler;
+        this.movieDetailsCache = movieDetailsCache;
+        this.genreService = genreService;
     }
 
 
@@ -75,32 +56,173 @@ public class MovieService {
     // get all movies with genres
     public List<MovieWithGenresDTO> getAllMoviesWithGenres() {
         List<Movie> movies = movieRepository.findAll();
-        return movies.stream().map(this::convertToMovieWithGenresDTO).collect(Collectors.toList());
+        return convertToMovieWithGenresDTOs(movies, groupGenreNames(movieGenresRepository.findAllGenreNames()));
     }
 
-    // Convert Movie to MovieWithGenresDTO
-    private MovieWithGenresDTO convertToMovieWithGenresDTO(Movie movie) {
-        List<MovieGenres> movieGenres = movieGenresRepository.findByMovieId(movie.getMovieId());
-        List<String> genreNames = movieGenres.stream()
-                .map(mg -> mg.getGenre().getGenreName())
-                .collect(Collectors.toList());
+    // get one page of movies, keyset paginated on the given sort
+    public CursorPage<Movie> getMoviesPage(MovieSort sort, String cursor, int limit) {
+        // Fetch one extra row to find out whether there is a next page
+        List<Movie> movies = new ArrayList<>(findMoviesPage(sort, cursor, PageRequest.ofSize(limit + 1)));
+        String nextCursor = null;
+        if (movies.size() > limit) {
+            movies = new ArrayList<>(movies.subList(0, limit));
+            Movie last = movies.get(limit - 1);
+            nextCursor = CursorCodec.encode(sort.getParam(), sort.keyOf(last), last.getMovieId());
+        }
+        return new CursorPage<>(movies, nextCursor);
+    }
+
+    // get one page of movies with genres, keyset paginated on the given sort
+    public CursorPage<MovieWithGenresDTO> getMoviesWithGenresPage(MovieSort sort, String cursor, int limit) {
+        CursorPage<Movie> page = getMoviesPage(sort, cursor, limit);
+        List<Long> movieIds = page.getItems().stream().map(Movie::getMovieId).collect(Collectors.toList());
+        Map<Long, List<String>> genreNames = movieIds.isEmpty()
+                ? Map.of()
+                : groupGenreNames(movieGenresRepository.findGenreNamesByMovieIdIn(movieIds));
+        List<MovieWithGenresDTO> movies = convertToMovieWithGenresDTOs(page.getItems(), genreNames);
+        return new CursorPage<>(movies, page.getNextCursor());
+    }
+
+    // get one page of the movies in a genre, keyset paginated on avgRating or releaseYear
+    public CursorPage<Movie> getGenreMoviesPage(Long genreId, MovieSort sort, String cursor, int limit) {
+        if (sort != MovieSort.AVG_RATING && sort != MovieSort.RELEASE_YEAR) {
+            throw new IllegalArgumentException("Unsupported sort for genre listing: " + sort.getParam());
+        }
+        if (!genreRepository.existsById(genreId)) {
+            throw new RuntimeException("Genre not found with id: " + genreId);
+        }
+        List<Movie> movies = new ArrayList<>(findGenreMoviesPage(genreId, sort, cursor, PageRequest.ofSize(limit + 1)));
+        String nextCursor = null;
+        if (movies.size() > limit) {
+            movies = new ArrayList<>(movies.subList(0, limit));
+            Movie last = movies.get(limit - 1);
+            nextCursor = CursorCodec.encode(sort.getParam(), sort.keyOf(last), last.getMovieId());
+        }
+        return new CursorPage<>(movies, nextCursor);
+    }
+
+    private List<Movie> findGenreMoviesPage(Long genreId, MovieSort sort, String cursor, Pageable pageable) {
+        if (cursor == null || cursor.isBlank()) {
+            return sort == MovieSort.AVG_RATING
+                    ? movieRepository.findFirstGenrePageByRating(genreId, pageable)
+                    : movieRepository.findFirstGenrePageByReleaseYear(genreId, pageable);
+        }
+
+        // same cursor layout as the catalog listing: sort param, sort key, movie id
+        String[] parts = CursorCodec.decode(cursor, 3);
+        if (!sort.getParam().equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        try {
+            Long movieId = Long.valueOf(parts[2]);
+            return sort == MovieSort.AVG_RATING
+                    ? movieRepository.findGenrePageByRatingAfter(genreId, Double.valueOf(parts[1]), movieId, pageable)
+                    : movieRepository.findGenrePageByReleaseYearAfter(genreId, Long.valueOf(parts[1]), movieId, pageable);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private List<Movie> findMoviesPage(MovieSort sort, String cursor, Pageable pageable) {
+        if (cursor == null || cursor.isBlank()) {
+            return switch (sort) {
+                case MOVIE_ID -> movieRepository.findFirstPageById(pageable);
+                case AVG_RATING -> movieRepository.findFirstPageByRating(pageable);
+                case RELEASE_YEAR -> movieRepository.findFirstPageByReleaseYear(pageable);
+                case TITLE -> movieRepository.findFirstPageByTitle(pageable);
+            };
+        }
 
-        return new MovieWithGenresDTO(
-                movie.getMovieId(),
-                movie.getTitle(),
-                movie.getReleaseYear(),
-                movie.getDuration(),
-                movie.getDescription(),
-                movie.getLanguage(),
-                movie.getCountry(),
-                movie.getPosterUrl(),
-                movie.getAvgRating(),
-                movie.getTrailerUrl(),
-                genreNames
-        );
+        // cursor = sort param, sort key of the last movie, id of the last movie
+        String[] parts = CursorCodec.decode(cursor, 3);
+        if (!sort.getParam().equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        Long movieId = Long.valueOf(parts[2]);
+        return switch (sort) {
+            case MOVIE_ID -> movieRepository.findPageByIdAfter(movieId, pageable);
+            case AVG_RATING -> movieRepository.findPageByRatingAfter(Double.valueOf(parts[1]), movieId, pageable);
+            case RELEASE_YEAR -> movieRepository.findPageByReleaseYearAfter(Long.valueOf(parts[1]), movieId, pageable);
+            case TITLE -> movieRepository.findPageByTitleAfter(parts[1], movieId, pageable);
+        };
+    }
+
+    /**
+     * Sort orders for the paginated movie listings.
+     * movieId sorts ascending; avgRating and releaseYear sort descending; title sorts ascending.
+     * Ties are broken by movieId in the same direction, so the order is always stable.
+     */
+    public enum MovieSort {
+        MOVIE_ID("movieId"),
+        AVG_RATING("avgRating"),
+        RELEASE_YEAR("releaseYear"),
+        TITLE("title");
+
+        private final String param;
+
+        MovieSort(String param) {
+            this.param = param;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        // The value of this sort key for a movie, as stored in a cursor
+        private Object keyOf(Movie movie) {
+            return switch (this) {
+                case MOVIE_ID -> movie.getMovieId();
+                case AVG_RATING -> movie.getAvgRating();
+                case RELEASE_YEAR -> movie.getReleaseYear();
+                case TITLE -> movie.getTitle();
+            };
+        }
+
+        public static MovieSort fromParam(String param) {
+            for (MovieSort sort : values()) {
+                if (sort.param.equalsIgnoreCase(param)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + param);
+        }
+    }
+
+    // Group (movie id, genre name) rows by movie id
+    private Map<Long, List<String>> groupGenreNames(List<MovieGenresRepository.MovieGenreNameView> rows) {
+        return rows.stream().collect(Collectors.groupingBy(
+                MovieGenresRepository.MovieGenreNameView::getMovieId,
+                Collectors.mapping(MovieGenresRepository.MovieGenreNameView::getGenreName, Collectors.toList())));
+    }
+
+    // Convert Movies to MovieWithGenresDTOs using genre names already loaded for the whole list
+    private List<MovieWithGenresDTO> convertToMovieWithGenresDTOs(List<Movie> movies, Map<Long, List<String>> genreNamesByMovie) {
+        return movies.stream()
+                .map(movie -> new MovieWithGenresDTO(
+                        movie.getMovieId(),
+                        movie.getTitle(),
+                        movie.getReleaseYear(),
+                        movie.getDuration(),
+                        movie.getDescription(),
+                        movie.getLanguage(),
+                        movie.getCountry(),
+                        movie.getPosterUrl(),
+                        movie.getAvgRating(),
+                        movie.getTrailerUrl(),
+                        genreNamesByMovie.getOrDefault(movie.getMovieId(), new ArrayList<>())))
+                .collect(Collectors.toList());
     }
 
     public Movie createMovie(Movie movie) {
+        // Rating aggregates start empty and are only changed by ReviewService
+        movie.setAvgRating(0.0);
+        movie.setRatingSum(0L);
+        movie.setRatingCount(0L);
+        movie.setRating1Count(0L);
+        movie.setRating2Count(0L);
+        movie.setRating3Count(0L);
+        movie.setRating4Count(0L);
+        movie.setRating5Count(0L);
         return movieRepository.save(movie);
     }
 
@@ -119,154 +241,44 @@ public class MovieService {
         existingMovie.setLanguage(movie.getLanguage());
         existingMovie.setCountry(movie.getCountry());
         existingMovie.setPosterUrl(movie.getPosterUrl());
-        existingMovie.setAvgRating(movie.getAvgRating());
         existingMovie.setTrailerUrl(movie.getTrailerUrl());
+        movieDetailsCache.evict(id);
         return movieRepository.save(existingMovie);
     }
 
     public void deleteMovie(Long id) {
+        // unlink its genres first so the per-genre movie counts stay right
+        genreService.removeAllGenresFromMovie(id);
         movieRepository.deleteById(id);
+        movieDetailsCache.evict(id);
     }
 
     // Get movie with full details including genres, cast, and crew
+    // Cached per movie id; writes that change the details evict the entry via MovieDetailsCache
+    @Cacheable(MovieDetailsCache.CACHE_NAME)
     public MovieFullDetailsDTO getMovieFullDetails(Long movieId) {
-        // Get the movie
         Movie movie = movieRepository.findById(movieId)
                 .orElseThrow(() -> new RuntimeException("Movie not found with id: " + movieId));
-        
-        // For review I wanna have username not userid as well of the user who posted it, review contains only the userid but we need to fetch username from 
-        // user repository based on that id
-        List<MovieFullDetailsDTO.ReviewDTO> reviewDTOs = new ArrayList<>();
-        List<Review> reviews = reviewRepository.findByMovieId(movieId);
-        // i wanna have thee revieews to be sorted according to their updated at field in descending order
-        reviews.sort((r1, r2) -> r2.getUpdatedAt().compareTo(r1.getUpdatedAt()));
-        for (Review review : reviews) {
-            // Assuming a UserRepository exists to fetch user details
-            String userName = "User" + review.getUserId(); // Placeholder for actual username fetching logic
-            User user = userRepository.findById(review.getUserId())
-                    .orElse(null);
-            if (user != null) {
-                userName = user.getUsername();
-            }
-            MovieFullDetailsDTO.ReviewDTO reviewDTO = MovieFullDetailsDTO.ReviewDTO.builder()
-                    .reviewId(review.getReviewId())
-                    .userId(review.getUserId())
-                    .movieId(review.getMovieId())
-                    .rating(review.getRating())
-                    .reviewText(review.getReviewText())
-                    .helpfulCount(review.getHelpfulCount())
-                    .createdAt(review.getCreatedAt())
-                    .updatedAt(review.getUpdatedAt())
-                    .userName(userName)
-                    .build();
-            reviewDTOs.add(reviewDTO);
-        }
-        
-
-        // Get genres
-        List<MovieGenres> movieGenres = movieGenresRepository.findByMovieId(movieId);
-        List<MovieFullDetailsDTO.GenreDTO> genres = movieGenres.stream()
-                .map(mg -> MovieFullDetailsDTO.GenreDTO.builder()
-                        .genreId(mg.getGenre().getGenreId())
-                        .name(mg.getGenre().getGenreName())
-                        .description(mg.getGenre().getDescription())
-                        .build())
-                .collect(Collectors.toList());
-
-        // Get movie participations
-        List<MovieParticipation> participations = movieParticipationRepository.findByMovieId(movieId);
-
-        // Group participations by role type
-        List<MovieFullDetailsDTO.PersonParticipationDTO> cast = new ArrayList<>();
-        List<MovieFullDetailsDTO.PersonParticipationDTO> directors = new ArrayList<>();
-        List<MovieFullDetailsDTO.PersonParticipationDTO> producers = new ArrayList<>();
-        List<MovieFullDetailsDTO.PersonParticipationDTO> writers = new ArrayList<>();
-
-        for (MovieParticipation participation : participations) {
-            Person person = personRepository.findById(participation.getPersonId())
-                    .orElse(null);
-            
-            if (person == null) continue;
-
-            // Get roles for this participation
-            List<ParticipationRole> participationRoles = participationRoleRepository
-                    .findByParticipationId(participation.getParticipationId());
-
-            List<MovieFullDetailsDTO.RoleDTO> roles = participationRoles.stream()
-                    .map(pr -> {
-                        MovieRole movieRole = movieRoleRepository.findById(pr.getRoleId())
-                                .orElse(null);
-                        if (movieRole == null) return null;
-                        
-                        return MovieFullDetailsDTO.RoleDTO.builder()
-                                .roleId(movieRole.getRoleId())
-                                .roleName(movieRole.getName())
-                                .roleDescription(movieRole.getDescription())
-                                .note(pr.getNote())
-                                .build();
-                    })
-                    .filter(role -> role != null)
-                    .collect(Collectors.toList());
-
-            MovieFullDetailsDTO.PersonParticipationDTO personDto = 
-                    MovieFullDetailsDTO.PersonParticipationDTO.builder()
-                            .personId(person.getPersonId())
-                            .name(person.getName())
-                            .birthDate(person.getBirthDate())
-                            .bio(person.getBio())
-                            .profileUrl(person.getProfileUrl())
-                            .roles(roles)
-                            .build();
-
-            // Categorize by role type
-            for (MovieFullDetailsDTO.RoleDTO role : roles) {
-                String roleName = role.getRoleName().toLowerCase();
-                if (roleName.contains("actor") || roleName.contains("actress")) {
-                    if (!cast.contains(personDto)) {
-                        cast.add(personDto);
-                    }
-                } else if (roleName.contains("director")) {
-                    if (!directors.contains(personDto)) {
-                        directors.add(personDto);
-                    }
-                } else if (roleName.contains("producer")) {
-                    if (!producers.contains(personDto)) {
-                        producers.add(personDto);
-                    }
-                } else if (roleName.contains("writer") || roleName.contains("screenplay")) {
-                    if (!writers.contains(personDto)) {
-                        writers.add(personDto);
-                    }
-                }
-            }
-        }
+        return movieDetailsAssembler.assemble(movie);
+    }
 
-        return MovieFullDetailsDTO.builder()
-                .movieId(movie.getMovieId())
-                .title(movie.getTitle())
-                .releaseYear(movie.getReleaseYear())
-                .duration(movie.getDuration())
-                .description(movie.getDescription())
-                .language(movie.getLanguage())
-                .country(movie.getCountry())
-                .posterUrl(movie.getPosterUrl())
-                .avgRating(movie.getAvgRating())
-                .genres(genres)
-                .cast(cast)
-                .directors(directors)
-                .producers(producers)
-                .writers(writers)
-                .reviews(reviewDTOs)
-                .trailerUrl(movie.getTrailerUrl())
-                .build();
+    // Get the 1-5 star rating distribution of a movie (single-row lookup)
+    public RatingHistogramDTO getRatingHistogram(Long movieId) {
+        Movie movie = movieRepository.findById(movieId)
+                .orElseThrow(() -> new RuntimeException("Movie not found with id: " + movieId));
+        return RatingHistogramDTO.from(movie);
     }
 
     // Get all movies with full details
     public List<MovieFullDetailsDTO> getAllMoviesWithFullDetails() {
         List<Movie> movies = movieRepository.findAll();
-        return movies.stream()
-                .map(movie -> getMovieFullDetails(movie.getMovieId()))
-                .collect(Collectors.toList());
+        return movieDetailsAssembler.assemble(movies);
+    }
+
+    // Get the next chunk of movies with full details, ordered by id, starting after the given movie id
+    public List<MovieFullDetailsDTO> getMoviesWithFullDetailsAfter(Long afterMovieId, int chunkSize) {
+        List<Movie> movies = movieRepository.findByMovieIdGreaterThanOrderByMovieIdAsc(afterMovieId, Limit.of(chunkSize));
+        return movieDetailsAssembler.assemble(movies);
     }
 
 
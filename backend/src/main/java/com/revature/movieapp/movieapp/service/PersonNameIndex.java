@@ -0,0 +1,264 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.revature.movieapp.movieapp.repository.PersonRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory name index behind the person search (the cast picker).
+ *
+ * Every person's normalized name (lower case, accents and punctuation removed) is
+ * split into trigrams, plus the 1- and 2-letter prefixes of each word, and each gram
+ * maps to the ids of the persons containing it. A query only looks at the persons
+ * listed under its rarest gram and checks them against the name, so no query scans the table.
+ * Query words of 3+ letters match anywhere in the name; shorter words match the start of a word.
+ *
+ * Built from the id/name projection at startup and rebuilt periodically, so changes
+ * made by other instances show up; PersonService applies its own changes after commit.
+ */
+@Component
+public class PersonNameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM = 3;
+    // Marks word-prefix grams; never occurs in a normalized name
+    private static final char WORD_PREFIX = '^';
+
+    private final PersonRepository personRepository;
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+    // Changes applied while a rebuild is loading, replayed onto the new index (guarded by writeLock)
+    private List<Consumer<Index>> changesDuringRebuild;
+
+    public PersonNameIndex(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    /**
+     * Load every person's name into a fresh index and swap it in
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${persons.search.rebuild-interval-ms:600000}",
+               initialDelayString = "${persons.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        Index fresh = new Index();
+        try {
+            for (PersonRepository.PersonNameView person : personRepository.findAllNames()) {
+                fresh.put(person.getId(), person.getName());
+            }
+        } finally {
+            synchronized (writeLock) {
+                // put/remove are idempotent, so replaying a change the load already saw is harmless
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                index = fresh;
+            }
+        }
+    }
+
+    /**
+     * Add or rename a person (after commit when called inside a transaction)
+     */
+    public void put(Long personId, String name) {
+        afterCommit(index -> index.put(personId, name));
+    }
+
+    /**
+     * Remove a person (after commit when called inside a transaction)
+     */
+    public void remove(Long personId) {
+        afterCommit(index -> index.remove(personId));
+    }
+
+    /**
+     * Find the persons whose name matches every word of the query, best matches first:
+     * exact name, then name prefix, then word prefix, then anywhere, shorter names first.
+     * @return at most limit person ids
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String[] words = normalized.split(" ");
+        Index current = index;
+
+        Set<Long> candidates = null;
+        for (String word : words) {
+            for (String gram : queryGrams(word)) {
+                Set<Long> postings = current.postings.get(gram);
+                if (postings == null) {
+                    return List.of();
+                }
+                if (candidates == null || postings.size() < candidates.size()) {
+                    candidates = postings;
+                }
+            }
+        }
+
+        // keep the best `limit` matches, worst on top so it is the one replaced
+        Comparator<Match> best = Comparator.comparingInt((Match m) -> m.rank)
+                .thenComparingInt(m -> m.name.length())
+                .thenComparing(m -> m.name)
+                .thenComparing(m -> m.personId);
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, best.reversed());
+        for (Long personId : candidates) {
+            String name = current.names.get(personId);
+            if (name == null || !matchesAll(name, words)) {
+                continue;
+            }
+            top.add(new Match(personId, name, rank(name, normalized)));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(best);
+        return matches.stream().map(m -> m.personId).toList();
+    }
+
+    private void afterCommit(Consumer<Index> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Index> change) {
+        synchronized (writeLock) {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private static boolean matchesAll(String name, String[] words) {
+        for (String word : words) {
+            boolean matches = word.length() >= GRAM
+                    ? name.contains(word)
+                    : name.startsWith(word) || name.contains(" " + word);
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int rank(String name, String query) {
+        if (name.equals(query)) return 0;
+        if (name.startsWith(query)) return 1;
+        if (name.contains(" " + query)) return 2;
+        return 3;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Trigrams of a 3+ letter query word, or the word-prefix gram of a shorter one
+    private static List<String> queryGrams(String word) {
+        if (word.length() < GRAM) {
+            return List.of(WORD_PREFIX + word);
+        }
+        List<String> grams = new ArrayList<>(word.length() - GRAM + 1);
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            grams.add(word.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Every gram a normalized name can be found by
+    private static Set<String> nameGrams(String name) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            grams.add(name.substring(i, i + GRAM));
+        }
+        for (String word : name.split(" ")) {
+            for (int length = 1; length < GRAM && length <= word.length(); length++) {
+                grams.add(WORD_PREFIX + word.substring(0, length));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Normalized names and gram postings
+     * Readers are lock-free; writers are serialized by writeLock
+     */
+    private static class Index {
+        private final Map<Long, String> names = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        private void put(Long personId, String name) {
+            remove(personId);
+            String normalized = normalize(name);
+            // posting first, so a reader never finds a name the postings do not back
+            for (String gram : nameGrams(normalized)) {
+                postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(personId);
+            }
+            names.put(personId, normalized);
+        }
+
+        private void remove(Long personId) {
+            String normalized = names.remove(personId);
+            if (normalized == null) {
+                return;
+            }
+            for (String gram : nameGrams(normalized)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(personId);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram, ids);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Match {
+        private final Long personId;
+        private final String name;
+        private final int rank;
+
+        private Match(Long personId, String name, int rank) {
+            this.personId = personId;
+            this.name = name;
+            this.rank = rank;
+        }
+    }
+}
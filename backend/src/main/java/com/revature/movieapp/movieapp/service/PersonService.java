@@ -1,21 +1,41 @@
 package com.revature.movieapp.movieapp.service;
 
+import com.revature.movieapp.movieapp.dto.FilmographyDTO;
 import com.revature.movieapp.movieapp.dto.PersonDTO;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.MovieParticipation;
 import com.revature.movieapp.movieapp.model.Person;
+import com.revature.movieapp.movieapp.repository.MovieParticipationRepository;
 import com.revature.movieapp.movieapp.repository.PersonRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PersonService {
 
     private final PersonRepository personRepository;
-
-    public PersonService(PersonRepository personRepository) {
+    private final MovieParticipationRepository participationRepository;
+    private final MovieDetailsCache movieDetailsCache;
+    private final PersonNameIndex personNameIndex;
+
+    public PersonService(PersonRepository personRepository,
+                         MovieParticipationRepository participationRepository,
+                         MovieDetailsCache movieDetailsCache,
+                         PersonNameIndex personNameIndex) {
         this.personRepository = personRepository;
+        this.participationRepository = participationRepository;
+        this.movieDetailsCache = movieDetailsCache;
+        this.personNameIndex = personNameIndex;
     }
 
     /**
@@ -28,11 +48,19 @@ public class PersonService {
     }
 
     /**
-     * Search persons by name (case-insensitive partial match)
+     * Search persons by name (case- and accent-insensitive, best matches first)
+     * Matching and ranking run on PersonNameIndex; only the top results are loaded, by id
      */
-    public List<PersonDTO> searchPersonsByName(String name) {
-        return personRepository.findAll().stream()
-                .filter(person -> person.getName().toLowerCase().contains(name.toLowerCase()))
+    public List<PersonDTO> searchPersonsByName(String name, int limit) {
+        List<Long> ids = personNameIndex.search(name, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Person> persons = personRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Person::getPersonId, Function.identity()));
+        return ids.stream()
+                .map(persons::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -46,6 +74,75 @@ public class PersonService {
         return convertToDTO(person);
     }
 
+    /**
+     * Get one keyset page of a person's filmography, newest movies first.
+     * Three queries per page however many movies and roles there are: the person
+     * (with the precomputed movie count), the page of movies, and their role names and notes.
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public FilmographyDTO getFilmography(Long personId, String cursor, int limit) {
+        Person person = personRepository.findById(personId)
+                .orElseThrow(() -> new RuntimeException("Person not found with id: " + personId));
+
+        // fetch one extra movie to know whether there is a next page
+        List<Movie> movies = new ArrayList<>(findFilmographyPage(personId, cursor, PageRequest.ofSize(limit + 1)));
+        String nextCursor = null;
+        if (movies.size() > limit) {
+            movies = new ArrayList<>(movies.subList(0, limit));
+            Movie last = movies.get(limit - 1);
+            nextCursor = CursorCodec.encode(last.getReleaseYear(), last.getMovieId());
+        }
+
+        Map<Long, List<FilmographyDTO.CreditDTO>> creditsByMovie = new HashMap<>();
+        if (!movies.isEmpty()) {
+            List<Long> movieIds = movies.stream().map(Movie::getMovieId).collect(Collectors.toList());
+            for (MovieParticipationRepository.CreditView credit
+                    : participationRepository.findCreditsByPersonIdAndMovieIdIn(personId, movieIds)) {
+                creditsByMovie.computeIfAbsent(credit.getMovieId(), id -> new ArrayList<>())
+                        .add(FilmographyDTO.CreditDTO.builder()
+                                .roleId(credit.getRoleId())
+                                .roleName(credit.getRoleName())
+                                .note(credit.getNote())
+                                .build());
+            }
+        }
+
+        List<FilmographyDTO.MovieCreditDTO> credits = movies.stream()
+                .map(movie -> FilmographyDTO.MovieCreditDTO.builder()
+                        .movieId(movie.getMovieId())
+                        .title(movie.getTitle())
+                        .releaseYear(movie.getReleaseYear())
+                        .posterUrl(movie.getPosterUrl())
+                        .avgRating(movie.getAvgRating())
+                        .roles(creditsByMovie.getOrDefault(movie.getMovieId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
+
+        return FilmographyDTO.builder()
+                .personId(person.getPersonId())
+                .name(person.getName())
+                .movieCount(person.getMovieCount())
+                .movies(credits)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<Movie> findFilmographyPage(Long personId, String cursor, Pageable pageable) {
+        if (cursor == null || cursor.isBlank()) {
+            return participationRepository.findFirstFilmographyPage(personId, pageable);
+        }
+        // cursor = release year and id of the last movie
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return participationRepository.findFilmographyPageAfter(
+                    personId, Long.valueOf(parts[0]), Long.valueOf(parts[1]), pageable);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     /**
      * Create a new person
      */
@@ -65,6 +162,7 @@ public class PersonService {
                 .build();
 
         Person savedPerson = personRepository.save(person);
+        personNameIndex.put(savedPerson.getPersonId(), savedPerson.getName());
         return convertToDTO(savedPerson);
     }
 
@@ -82,6 +180,8 @@ public class PersonService {
         person.setProfileUrl(personDTO.getProfileUrl());
 
         Person updatedPerson = personRepository.save(person);
+        personNameIndex.put(id, updatedPerson.getName());
+        evictMovieDetails(id);
         return convertToDTO(updatedPerson);
     }
 
@@ -94,6 +194,18 @@ public class PersonService {
             throw new RuntimeException("Person not found with id: " + id);
         }
         personRepository.deleteById(id);
+        personNameIndex.remove(id);
+        evictMovieDetails(id);
+    }
+
+    /**
+     * Evict the cached details of every movie this person appears in
+     */
+    private void evictMovieDetails(Long personId) {
+        participationRepository.findByPersonId(personId).stream()
+                .map(MovieParticipation::getMovieId)
+                .distinct()
+                .forEach(movieDetailsCache::evict);
     }
 
     /**
@@ -0,0 +1,66 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the rating aggregates of movies that predate them, at startup.
+ *
+ * rating_sum, rating_count and the 1-5 star histogram were added with a default of 0,
+ * so on an existing database every reviewed movie starts with no ratings counted while
+ * avg_rating still holds its old value. Only movies in that state are touched: no ratings
+ * counted, but reviews exist or avg_rating is not 0. Their aggregates are recomputed from
+ * the reviews and avg_rating is derived the same way MovieRepository.applyRatingDelta does.
+ * Once every movie is consistent the check finds nothing and the runner does no writes.
+ */
+@Component
+public class RatingAggregatesInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregatesInitializer.class);
+
+    private static final String MISSING = "rating_count = 0"
+            + " AND (avg_rating IS NULL OR avg_rating <> 0"
+            + " OR EXISTS (SELECT 1 FROM reviews r WHERE r.movie_id = movies.movie_id))";
+
+    private static final String BACKFILL_SQL = "UPDATE movies SET"
+            + " rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.movie_id = movies.movie_id),"
+            + " rating_count = (SELECT COUNT(*) FROM reviews r WHERE r.movie_id = movies.movie_id),"
+            + " rating_1_count = (SELECT COUNT(*) FROM reviews r WHERE r.movie_id = movies.movie_id AND r.rating = 1),"
+            + " rating_2_count = (SELECT COUNT(*) FROM reviews r WHERE r.movie_id = movies.movie_id AND r.rating = 2),"
+            + " rating_3_count = (SELECT COUNT(*) FROM reviews r WHERE r.movie_id = movies.movie_id AND r.rating = 3),"
+            + " rating_4_count = (SELECT COUNT(*) FROM reviews r WHERE r.movie_id = movies.movie_id AND r.rating = 4),"
+            + " rating_5_count = (SELECT COUNT(*) FROM reviews r WHERE r.movie_id = movies.movie_id AND r.rating = 5),"
+            + " avg_rating = COALESCE((SELECT SUM(r.rating) * 1.0 / COUNT(*) FROM reviews r"
+            + " WHERE r.movie_id = movies.movie_id), 0)"
+            + " WHERE movie_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieDetailsCache movieDetailsCache;
+
+    public RatingAggregatesInitializer(JdbcTemplate jdbcTemplate, MovieDetailsCache movieDetailsCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.movieDetailsCache = movieDetailsCache;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> movieIds = jdbcTemplate.queryForList(
+                "SELECT movie_id FROM movies WHERE " + MISSING, Long.class);
+        if (movieIds.isEmpty()) {
+            return;
+        }
+        // a full recount from the reviews, so it is also right for a movie rated meanwhile
+        List<Object[]> batch = movieIds.stream().map(id -> new Object[] { id }).toList();
+        jdbcTemplate.batchUpdate(BACKFILL_SQL, batch);
+        log.info("Backfilled the rating aggregates of {} movies from their reviews", movieIds.size());
+
+        // movie details may have been cached with the old aggregates
+        movieIds.forEach(movieDetailsCache::evict);
+    }
+}
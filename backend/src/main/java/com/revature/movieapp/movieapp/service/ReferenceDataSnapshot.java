@@ -0,0 +1,207 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.movieapp.movieapp.model.Genre;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.repository.GenreRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The genres and roles reference tables, served as ready-made JSON.
+ *
+ * Both lists are loaded at startup, serialized once and kept in an immutable
+ * snapshot together with a strong ETag (a hash of the JSON bytes, so every instance
+ * with the same data hands out the same ETag). A change builds a new snapshot and
+ * swaps it in whole, so readers always see one consistent version without locking.
+ *
+ * The roles are also kept as entities by id: MovieRoleCache reads them from here, so the
+ * JSON and the roles used to build movie details always come from the same load.
+ *
+ * GenreService refreshes the genres after each commit that changes a genre's movie
+ * count, and MovieRoleCache refreshes the roles when asked for an unknown role id;
+ * both lists are also reloaded periodically to pick up changes made directly
+ * in the database or by other instances.
+ */
+@Component
+public class ReferenceDataSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataSnapshot.class);
+
+    private final GenreRepository genreRepository;
+    private final MovieRoleRepository movieRoleRepository;
+    private final ObjectMapper objectMapper;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataSnapshot(GenreRepository genreRepository,
+                                 MovieRoleRepository movieRoleRepository,
+                                 ObjectMapper objectMapper) {
+        this.genreRepository = genreRepository;
+        this.movieRoleRepository = movieRoleRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * All genres (with their movie counts) in id order, as JSON
+     */
+    public Resource getGenres() {
+        return snapshot.genres;
+    }
+
+    /**
+     * All roles in id order, as JSON
+     */
+    public Resource getRoles() {
+        return snapshot.roles;
+    }
+
+    /**
+     * All roles by id, in id order.
+     * The roles are shared: callers must not modify them.
+     */
+    public Map<Long, MovieRole> getRolesById() {
+        return snapshot.rolesById;
+    }
+
+    /**
+     * Reload both tables and swap in a new snapshot
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval-ms:600000}",
+               initialDelayString = "${reference-data.refresh-interval-ms:600000}")
+    public void refresh() {
+        synchronized (writeLock) {
+            Map<Long, MovieRole> rolesById = loadRoles();
+            swap(loadGenres(), rolesById, serialize(rolesById.values()));
+        }
+    }
+
+    /**
+     * Reload the roles and swap in a new snapshot, keeping the genres
+     */
+    public void refreshRoles() {
+        synchronized (writeLock) {
+            Map<Long, MovieRole> rolesById = loadRoles();
+            swap(snapshot.genres, rolesById, serialize(rolesById.values()));
+        }
+    }
+
+    /**
+     * Reload the genres once the current transaction commits (at once if there is none)
+     */
+    public void refreshGenresAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshGenres();
+                }
+            });
+        } else {
+            refreshGenres();
+        }
+    }
+
+    private void refreshGenres() {
+        try {
+            synchronized (writeLock) {
+                swap(loadGenres(), snapshot.rolesById, snapshot.roles);
+            }
+        } catch (RuntimeException e) {
+            // the change is committed; the periodic refresh will pick it up
+            log.warn("Could not refresh the genres snapshot: {}", e.getMessage());
+        }
+    }
+
+    // Called with writeLock held; the version only moves when the content changed
+    private void swap(Resource genres, Map<Long, MovieRole> rolesById, Resource roles) {
+        Snapshot current = snapshot;
+        if (current != null && current.genres.etag.equals(genres.etag) && current.roles.etag.equals(roles.etag)) {
+            return;
+        }
+        long version = current == null ? 1 : current.version + 1;
+        snapshot = new Snapshot(version, genres, rolesById, roles);
+        log.debug("Reference data snapshot {} loaded (genres {}, roles {})", version, genres.etag, roles.etag);
+    }
+
+    private Resource loadGenres() {
+        List<Genre> genres = genreRepository.findAll().stream()
+                .sorted(Comparator.comparing(Genre::getGenreId))
+                .toList();
+        return serialize(genres);
+    }
+
+    private Map<Long, MovieRole> loadRoles() {
+        Map<Long, MovieRole> roles = new LinkedHashMap<>();
+        movieRoleRepository.findAll().stream()
+                .sorted(Comparator.comparing(MovieRole::getRoleId))
+                .forEach(role -> roles.put(role.getRoleId(), role));
+        return Collections.unmodifiableMap(roles);
+    }
+
+    private Resource serialize(Collection<?> items) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return new Resource(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize reference data", e);
+        }
+    }
+
+    /**
+     * One serialized reference list and its strong ETag (quoted).
+     * The bytes are shared by every response: callers must not modify them.
+     */
+    public static final class Resource {
+        private final byte[] json;
+        private final String etag;
+
+        private Resource(byte[] json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final Resource genres;
+        private final Map<Long, MovieRole> rolesById;
+        private final Resource roles;
+
+        private Snapshot(long version, Resource genres, Map<Long, MovieRole> rolesById, Resource roles) {
+            this.version = version;
+            this.genres = genres;
+            this.rolesById = rolesById;
+            this.roles = roles;
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.revature.movieapp.movieapp.service;
-import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.dto.CursorPage;
 import com.revature.movieapp.movieapp.model.Review;
 import com.revature.movieapp.movieapp.model.User;
 import com.revature.movieapp.movieapp.repository.MovieRepository;
+import com.revature.movieapp.movieapp.repository.ReviewHelpfulVoteRepository;
 import com.revature.movieapp.movieapp.repository.ReviewRepository;
 import com.revature.movieapp.movieapp.repository.UserRepository;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -23,16 +27,27 @@ import java.util.Optional;
 @Transactional
 public class ReviewService {
 
+    private static final long NO_RATING = 0;
+
     private final ReviewRepository reviewRepository;
     private final MovieRepository movieRepository;
     private final UserRepository userRepository;
+    private final MovieDetailsCache movieDetailsCache;
+    private final ReviewHelpfulVoteRepository helpfulVoteRepository;
+    private final HelpfulVoteBuffer helpfulVoteBuffer;
 
     public ReviewService(ReviewRepository reviewRepository,
                          MovieRepository movieRepository,
-                         UserRepository userRepository) {
+                         UserRepository userRepository,
+                         MovieDetailsCache movieDetailsCache,
+                         ReviewHelpfulVoteRepository helpfulVoteRepository,
+                         HelpfulVoteBuffer helpfulVoteBuffer) {
         this.reviewRepository = reviewRepository;
         this.movieRepository = movieRepository;
         this.userRepository = userRepository;
+        this.movieDetailsCache = movieDetailsCache;
+        this.helpfulVoteRepository = helpfulVoteRepository;
+        this.helpfulVoteBuffer = helpfulVoteBuffer;
     }
 
     /**
@@ -43,19 +58,9 @@ public class ReviewService {
     public Review createReview(Review review) {
         Objects.requireNonNull(review, "review must not be null");
 
-        // attach existing movie if provided
+        // add this rating to the movie's aggregates (also verifies the movie exists)
         if (review.getMovieId() != null) {
-            Movie movie = movieRepository.findById(review.getMovieId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Movie not found with id: " + review.getMovieId()));
-
-            if (movie.getAvgRating() == 0) {
-                movie.setAvgRating(Double.valueOf(review.getRating()));
-            } else {
-                movie.setAvgRating((movie.getAvgRating() + Double.valueOf(review.getRating()))/2);
-            }
-            
-            review.setMovieId(movie.getMovieId());
+            applyRatingChange(review.getMovieId(), NO_RATING, review.getRating());
         }
 
         // attach existing user if provided
@@ -71,6 +76,7 @@ public class ReviewService {
 
         review.setCreatedAt(LocalDateTime.now());
         review.setUpdatedAt(LocalDateTime.now());
+        movieDetailsCache.evict(review.getMovieId());
         return reviewRepository.save(review);
     }
 
@@ -119,23 +125,22 @@ public class ReviewService {
 
     /**
      * Update an existing review. Only non-null fields from updatedReview are applied.
+     * The review is read under a row lock, so the rating delta is computed from its current rating.
      */
     public Optional<Review> updateReview(Long id, Review updatedReview) {
-        Review existing = reviewRepository.findById(id)
+        Review existing = reviewRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
 
         if (updatedReview.getRating() != null) {
+            applyRatingChange(existing.getMovieId(), existing.getRating(), updatedReview.getRating());
             existing.setRating(updatedReview.getRating());
-            Movie movie = movieRepository.findById(existing.getMovieId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Movie not found with id: " + existing.getMovieId()));
-            movie.setAvgRating((movie.getAvgRating() + updatedReview.getRating())/2);
         }
         if (updatedReview.getReviewText() != null) {
             existing.setReviewText(updatedReview.getReviewText());
         }
 
         existing.setUpdatedAt(LocalDateTime.now());
+        movieDetailsCache.evict(existing.getMovieId());
         return Optional.of(reviewRepository.save(existing));
     }
 
@@ -143,33 +148,117 @@ public class ReviewService {
      * Delete a review by id.
      */
     public boolean deleteReview(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Review not found with id: " + id);
-        }
-        Review review = reviewRepository.findById(id).get();
+        Review review = reviewRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
         if (review.getMovieId() != null) {
-            Movie movie = movieRepository.findById(review.getMovieId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Movie not found with id: " + review.getMovieId()));
-            // Adjust average rating - simplistic approach update the average rating by removing this review's rating
-            if((movie.getAvgRating() * reviewRepository.findByMovieId(movie.getMovieId()).size() - review.getRating()) <= 0){
-                movie.setAvgRating(0.0);
-            }
-            else {
-                movie.setAvgRating((movie.getAvgRating() * reviewRepository.findByMovieId(movie.getMovieId()).size()
-                        - review.getRating())
-                        / (reviewRepository.findByMovieId(movie.getMovieId()).size() - 1));
-            }
-            
-            
-
+            // remove this rating from the movie's aggregates
+            applyRatingChange(review.getMovieId(), review.getRating(), NO_RATING);
         }
-    
-        reviewRepository.deleteById(id);
+
+        // its votes go with it, and any buffered ones are never flushed
+        helpfulVoteRepository.deleteByReviewId(id);
+        helpfulVoteBuffer.discard(id);
+        reviewRepository.delete(review);
+        movieDetailsCache.evict(review.getMovieId());
 
         return true;
     }
 
+    /**
+     * Get one keyset page of a movie's reviews.
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Review> getReviewsPage(Long movieId, ReviewSort sort, String cursor, int limit) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new ResourceNotFoundException("Movie not found with id: " + movieId);
+        }
+        // fetch one extra row to know whether there is a next page
+        List<Review> reviews = new ArrayList<>(findReviewsPage(movieId, sort, cursor, PageRequest.ofSize(limit + 1)));
+        String nextCursor = null;
+        if (reviews.size() > limit) {
+            reviews = new ArrayList<>(reviews.subList(0, limit));
+            nextCursor = sort.cursorAfter(reviews.get(limit - 1));
+        }
+        return new CursorPage<>(reviews, nextCursor);
+    }
+
+    private List<Review> findReviewsPage(Long movieId, ReviewSort sort, String cursor, Pageable pageable) {
+        if (cursor == null || cursor.isBlank()) {
+            return switch (sort) {
+                case UPDATED_AT -> reviewRepository.findFirstPageByUpdatedAt(movieId, pageable);
+                case HELPFUL_COUNT -> reviewRepository.findFirstPageByHelpfulCount(movieId, pageable);
+            };
+        }
+
+        // cursor = sort param, sort key of the last review, id of the last review
+        String[] parts = CursorCodec.decode(cursor, 3);
+        if (!sort.getParam().equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        try {
+            Long reviewId = Long.valueOf(parts[2]);
+            return switch (sort) {
+                case UPDATED_AT -> reviewRepository.findPageByUpdatedAtAfter(
+                        movieId, LocalDateTime.parse(parts[1]), reviewId, pageable);
+                case HELPFUL_COUNT -> reviewRepository.findPageByHelpfulCountAfter(
+                        movieId, Integer.valueOf(parts[1]), reviewId, pageable);
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Sort orders for the paginated review listing, both descending.
+     * Ties are broken by reviewId (descending), so the order is always stable.
+     */
+    public enum ReviewSort {
+        UPDATED_AT("updatedAt"),
+        HELPFUL_COUNT("helpfulCount");
+
+        private final String param;
+
+        ReviewSort(String param) {
+            this.param = param;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        // Cursor pointing just past the given review in this order
+        public String cursorAfter(Review review) {
+            Object key = this == UPDATED_AT ? review.getUpdatedAt() : review.getHelpfulCount();
+            return CursorCodec.encode(param, key, review.getReviewId());
+        }
+
+        public static ReviewSort fromParam(String param) {
+            for (ReviewSort sort : values()) {
+                if (sort.param.equalsIgnoreCase(param)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + param);
+        }
+    }
+
+    /**
+     * Replace one rating of a movie with another (NO_RATING on either side for
+     * create/delete) with one atomic UPDATE of its rating_sum/rating_count and
+     * star histogram (avg_rating is derived in the same statement).
+     * No movie row is loaded, and concurrent reviews cannot lose each other's updates.
+     */
+    private void applyRatingChange(Long movieId, long removedRating, long addedRating) {
+        long countDelta = (addedRating != NO_RATING ? 1 : 0) - (removedRating != NO_RATING ? 1 : 0);
+        int updated = movieRepository.applyRatingDelta(
+                movieId, addedRating - removedRating, countDelta, removedRating, addedRating);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Movie not found with id: " + movieId);
+        }
+    }
+
     /**
      * Simple runtime exception used when required resources are missing.
      */
@@ -181,35 +270,37 @@ public class ReviewService {
 
     public Optional<Review> patch(Long id, Review partial) {
 
-        Review existing = reviewRepository.findById(id)
+        Review existing = reviewRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
 
 
         if (partial.getRating() != null) {
+            applyRatingChange(existing.getMovieId(), existing.getRating(), partial.getRating());
             existing.setRating(partial.getRating());
-            Movie movie = movieRepository.findById(existing.getMovieId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Movie not found with id: " + existing.getMovieId()));
-            movie.setAvgRating((movie.getAvgRating() + partial.getRating())/2); 
         }
         if (partial.getReviewText() != null) {
             existing.setReviewText(partial.getReviewText());
         }
 
         existing.setUpdatedAt(LocalDateTime.now());
+        movieDetailsCache.evict(existing.getMovieId());
         return Optional.of(reviewRepository.save(existing));
     }
 
     /**
-     * Check if a user (by username) owns a specific review
+     * Mark a review as helpful on behalf of a user.
+     * The vote row is inserted at once (so a second vote is rejected right away),
+     * while helpful_count is incremented by HelpfulVoteBuffer's next batched flush.
+     * @return true if the vote was counted, false if this user had already voted
      */
-    public boolean isReviewOwner(Long reviewId, String username) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + reviewId));
-        
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        
-        return review.getUserId().equals(user.getId());
+    public boolean markHelpful(Long reviewId, Long userId) {
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ResourceNotFoundException("Review not found with id: " + reviewId);
+        }
+        if (helpfulVoteRepository.insertIfAbsent(reviewId, userId) == 0) {
+            return false;
+        }
+        helpfulVoteBuffer.record(reviewId);
+        return true;
     }
 }
\ No newline at end of file
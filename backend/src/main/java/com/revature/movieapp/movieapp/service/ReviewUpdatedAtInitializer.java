@@ -0,0 +1,49 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives reviews without a usable updated_at their creation time, at startup.
+ *
+ * updated_at is the sort key of the paginated review listings, but reviews that were
+ * never edited before the column was filled on insert have it NULL (or a zero date on
+ * MySQL, which sorts before every real time). Both cases are matched by the same check,
+ * since an edit never leaves updated_at before created_at; once they are fixed the
+ * check finds nothing and the runner does no writes.
+ */
+@Component
+public class ReviewUpdatedAtInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewUpdatedAtInitializer.class);
+
+    private static final String MISSING = "updated_at IS NULL OR updated_at < created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieDetailsCache movieDetailsCache;
+
+    public ReviewUpdatedAtInitializer(JdbcTemplate jdbcTemplate, MovieDetailsCache movieDetailsCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.movieDetailsCache = movieDetailsCache;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> movieIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT movie_id FROM reviews WHERE " + MISSING, Long.class);
+        if (movieIds.isEmpty()) {
+            return;
+        }
+        int backfilled = jdbcTemplate.update("UPDATE reviews SET updated_at = created_at WHERE " + MISSING);
+        log.info("Backfilled updated_at of {} reviews from their creation time", backfilled);
+
+        // the newest reviews in cached movie details were picked without these
+        movieIds.forEach(movieDetailsCache::evict);
+    }
+}
@@ -0,0 +1,80 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.revature.movieapp.movieapp.model.CreditCategory;
+import com.revature.movieapp.movieapp.model.DataMigration;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.repository.DataMigrationRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+
+/**
+ * Gives roles that are still at the default category (OTHER) the category their name
+ * points to, once. Roles that existed before roles.category was added get OTHER from
+ * the column default, and movie details group credits by the stored category only,
+ * so without this their cast and crew would be listed as nothing.
+ * A role whose name matches no category stays OTHER; already categorized roles are left alone.
+ *
+ * The run is recorded in data_migrations, so later startups skip it: a role that is
+ * set to OTHER afterwards on purpose keeps that category.
+ */
+@Component
+public class RoleCategoryInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleCategoryInitializer.class);
+
+    static final String MIGRATION = "role-categories-from-names";
+
+    private final MovieRoleRepository movieRoleRepository;
+    private final MovieRoleCache movieRoleCache;
+    private final DataMigrationRepository dataMigrationRepository;
+
+    public RoleCategoryInitializer(MovieRoleRepository movieRoleRepository,
+                                   MovieRoleCache movieRoleCache,
+                                   DataMigrationRepository dataMigrationRepository) {
+        this.movieRoleRepository = movieRoleRepository;
+        this.movieRoleCache = movieRoleCache;
+        this.dataMigrationRepository = dataMigrationRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (dataMigrationRepository.existsById(MIGRATION)) {
+            return;
+        }
+        deriveCategories();
+        try {
+            dataMigrationRepository.save(new DataMigration(MIGRATION, Instant.now()));
+        } catch (DataIntegrityViolationException e) {
+            // another instance ran it at the same time and recorded it first
+        }
+    }
+
+    private void deriveCategories() {
+        List<MovieRole> derived = new ArrayList<>();
+        for (MovieRole role : movieRoleRepository.findByCategory(CreditCategory.OTHER)) {
+            CreditCategory category = CreditCategory.fromRoleName(role.getName());
+            if (category != CreditCategory.OTHER) {
+                role.setCategory(category);
+                derived.add(role);
+            }
+        }
+        if (derived.isEmpty()) {
+            return;
+        }
+        movieRoleRepository.saveAll(derived);
+        log.info("Derived the credit category of {} roles from their names", derived.size());
+
+        // saveAll has committed; roles may already have been loaded with the old categories
+        movieRoleCache.reload();
+    }
+}
@@ -2,64 +2,42 @@ package com.revature.movieapp.movieapp.service;
 
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Instant;
 
 /**
  * Token Blacklist Service
- * Stores invalidated JWT tokens (used for logout)
- * 
- * Simple in-memory implementation
- * For production, consider using Redis for distributed systems
+ * Invalidates JWT tokens on logout and checks them on every request.
+ * Storage is delegated to the configured TokenRevocationStore.
  */
 @Service
 public class TokenBlacklistService {
 
-    // Thread-safe set to store blacklisted tokens
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
+    private final TokenRevocationStore revocationStore;
+
+    public TokenBlacklistService(TokenRevocationStore revocationStore) {
+        this.revocationStore = revocationStore;
+    }
 
     /**
      * Add token to blacklist
      * Called when user logs out
-     * @param token JWT token to blacklist
+     * @param tokenId the token's jti claim
+     * @param expiresAt the token's expiry; the entry is not needed after it
      */
-    public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+    public void blacklistToken(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return; // nothing to revoke
+        }
+        revocationStore.revoke(tokenId, expiresAt);
     }
 
     /**
      * Check if token is blacklisted
      * Called during authentication to verify token is still valid
-     * @param token JWT token to check
+     * @param tokenId the token's jti claim
      * @return true if blacklisted, false otherwise
      */
-    public boolean isBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
-    }
-
-    /**
-     * Remove token from blacklist
-     * Useful for cleanup or testing
-     * @param token JWT token to remove
-     */
-    public void removeFromBlacklist(String token) {
-        blacklistedTokens.remove(token);
-    }
-
-    /**
-     * Clear all blacklisted tokens
-     * Useful for testing or manual cleanup
-     */
-    public void clearBlacklist() {
-        blacklistedTokens.clear();
-    }
-
-    /**
-     * Get count of blacklisted tokens
-     * @return number of blacklisted tokens
-     */
-    public int getBlacklistSize() {
-        return blacklistedTokens.size();
+    public boolean isBlacklisted(String tokenId) {
+        return tokenId != null && revocationStore.isRevoked(tokenId);
     }
 }
-
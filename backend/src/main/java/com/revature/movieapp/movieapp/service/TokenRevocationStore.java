@@ -0,0 +1,26 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.time.Instant;
+
+/**
+ * Where revoked (logged out) JWTs are recorded, by their jti claim.
+ * Selected with jwt.revocation.store:
+ * - database (default): shared table, honoured by every instance
+ * - memory: per-JVM only, for single-instance deployments
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Revoke a token until it expires
+     * @param tokenId the token's jti claim
+     * @param expiresAt the token's expiry
+     */
+    void revoke(String tokenId, Instant expiresAt);
+
+    /**
+     * Check whether a token has been revoked
+     * Called on every authenticated request, so it must be cheap for tokens that are not revoked
+     * @param tokenId the token's jti claim
+     */
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,52 @@
+package com.revature.movieapp.movieapp.service;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.revature.movieapp.movieapp.repository.UserRepository;
+
+/**
+ * Short-lived cache of each user's current token version.
+ * JwtAuthenticationFilter compares it with the version claim of a token, so a
+ * role or password change (or deleting the user) revokes older tokens within
+ * the cache TTL, at the cost of at most one small query per user per TTL.
+ * UserService evicts an entry on change, which makes it immediate on this instance.
+ */
+@Component
+public class TokenVersionCache {
+
+    public static final String CACHE_NAME = "userTokenVersions";
+
+    // Cached for users that no longer exist, so no token version can match
+    private static final Long DELETED = -1L;
+
+    private final Cache<Object, Object> cache;
+    private final UserRepository userRepository;
+
+    public TokenVersionCache(CacheManager cacheManager, UserRepository userRepository) {
+        this.cache = ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache();
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Check whether a token version is still the user's current one
+     */
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        Object current = cache.get(userId, id -> userRepository.findTokenVersionById((Long) id).orElse(DELETED));
+        return tokenVersion.equals(current);
+    }
+
+    /**
+     * Drop the cached version of a user
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.revature.movieapp.movieapp.service;
 
 import com.revature.movieapp.movieapp.model.Role;
 import com.revature.movieapp.movieapp.model.User;
+import com.revature.movieapp.movieapp.repository.ReviewRepository;
 import com.revature.movieapp.movieapp.repository.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -20,10 +22,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameCache usernameCache;
+    private final TokenVersionCache tokenVersionCache;
+    private final ReviewRepository reviewRepository;
+    private final MovieDetailsCache movieDetailsCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UsernameCache usernameCache, TokenVersionCache tokenVersionCache,
+                       ReviewRepository reviewRepository, MovieDetailsCache movieDetailsCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.usernameCache = usernameCache;
+        this.tokenVersionCache = tokenVersionCache;
+        this.reviewRepository = reviewRepository;
+        this.movieDetailsCache = movieDetailsCache;
     }
 
     /**
@@ -80,6 +92,7 @@ public class UserService {
     /**
      * Update an existing user
      * If password is changed, it will be encrypted
+     * If roles or password change, the token version is bumped so existing JWTs stop working
      * @param id the user ID
      * @param updatedUser the updated user data
      * @return the updated user
@@ -93,8 +106,26 @@ public class UserService {
             !updatedUser.getPassword().startsWith("$2a$")) {
             updatedUser.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
         }
+
+        // The token version is server-managed, never taken from the request
+        Optional<User> existingUser = userRepository.findById(id);
+        Long tokenVersion = existingUser
+                .map(existing -> credentialsChanged(existing, updatedUser)
+                        ? existing.getTokenVersion() + 1
+                        : existing.getTokenVersion())
+                .orElse(0L);
+        updatedUser.setTokenVersion(tokenVersion);
+        boolean usernameChanged = existingUser
+                .map(existing -> !Objects.equals(existing.getUsername(), updatedUser.getUsername()))
+                .orElse(false);
         
-        return userRepository.save(updatedUser);
+        User saved = userRepository.save(updatedUser);
+        usernameCache.evict(id);
+        tokenVersionCache.evict(id);
+        if (usernameChanged) {
+            evictReviewedMovies(id);
+        }
+        return saved;
     }
 
     /**
@@ -102,7 +133,22 @@ public class UserService {
      * @param id the user ID
      */
     public void deleteUser(Long id) {
+        List<Long> reviewedMovieIds = reviewRepository.findMovieIdsByUserId(id);
         userRepository.deleteById(id);
+        usernameCache.evict(id);
+        tokenVersionCache.evict(id);
+        reviewedMovieIds.forEach(movieDetailsCache::evict);
+    }
+
+    // Cached movie details embed the usernames of their reviewers
+    private void evictReviewedMovies(Long userId) {
+        reviewRepository.findMovieIdsByUserId(userId).forEach(movieDetailsCache::evict);
+    }
+
+    // Roles and password are what a JWT vouches for
+    private static boolean credentialsChanged(User existing, User updated) {
+        return !Objects.equals(existing.getRoles(), updated.getRoles())
+                || !Objects.equals(existing.getPassword(), updated.getPassword());
     }
 }
 
@@ -0,0 +1,63 @@
+package com.revature.movieapp.movieapp.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.revature.movieapp.movieapp.repository.UserRepository;
+
+/**
+ * Bounded user id -> username cache used wherever reviews are rendered.
+ * Misses are loaded in bulk with the id/username projection of UserRepository,
+ * so resolving names never loads User entities (or their EAGER roles).
+ * UserService evicts an entry whenever that user is updated or deleted (and, when the
+ * username changed, the cached details of the movies the user reviewed).
+ */
+@Component
+public class UsernameCache {
+
+    public static final String CACHE_NAME = "usernames";
+
+    private final Cache<Object, Object> cache;
+    private final UserRepository userRepository;
+
+    public UsernameCache(CacheManager cacheManager, UserRepository userRepository) {
+        this.cache = ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache();
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Resolve the usernames of a set of users.
+     * All ids missing from the cache are loaded with one query.
+     * @return username by user id; ids of users that do not exist are left out
+     */
+    public Map<Long, String> getUsernames(Collection<Long> userIds) {
+        Map<Long, String> usernames = new HashMap<>();
+        cache.getAll(userIds, this::load).forEach((id, username) -> usernames.put((Long) id, (String) username));
+        return usernames;
+    }
+
+    /**
+     * Drop the cached username of a user
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    private Map<Object, Object> load(Set<?> missingIds) {
+        Map<Object, Object> loaded = new HashMap<>();
+        for (UserRepository.UsernameView view : userRepository.findUsernamesByIdIn(
+                missingIds.stream().map(Long.class::cast).toList())) {
+            loaded.put(view.getId(), view.getUsername());
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,103 @@
+package com.revature.movieapp.movieapp.trace;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace of a single request
+ * Stages are timed on every request; events and the summary line are only
+ * kept for sampled requests. The summary is one structured key=value line on
+ * this package's logger, which logback-spring.xml sends to a non-blocking async appender.
+ * Used by one thread at a time (the request thread, then for async requests the
+ * thread that completes them), so it is not thread-safe.
+ */
+public class RequestTrace {
+
+    static final String ATTRIBUTE = RequestTrace.class.getName();
+
+    // Trace for requests that never went through a tracer (records nothing)
+    private static final RequestTrace NONE = new RequestTrace(null, null, null, false);
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTrace.class);
+
+    private final RequestTracer tracer;
+    private final String method;
+    private final String path;
+    private final boolean sampled;
+    private final long startNanos = System.nanoTime();
+    private StringBuilder stages;
+    private StringBuilder events;
+
+    RequestTrace(RequestTracer tracer, String method, String path, boolean sampled) {
+        this.tracer = tracer;
+        this.method = method;
+        this.path = path;
+        this.sampled = sampled;
+    }
+
+    /**
+     * The trace attached to a request, or one that records nothing
+     */
+    public static RequestTrace of(HttpServletRequest request) {
+        Object trace = request.getAttribute(ATTRIBUTE);
+        return trace instanceof RequestTrace ? (RequestTrace) trace : NONE;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Record a stage that started at stageStartNanos and ends now
+     * @return the current System.nanoTime(), to be used as the start of the next stage
+     */
+    public long stage(String name, long stageStartNanos) {
+        long now = System.nanoTime();
+        if (tracer == null) {
+            return now;
+        }
+        long elapsed = now - stageStartNanos;
+        tracer.stageTimer(name).record(elapsed, TimeUnit.NANOSECONDS);
+        if (sampled) {
+            stages = append(stages, name + "=" + TimeUnit.NANOSECONDS.toMicros(elapsed) + "us");
+        }
+        return now;
+    }
+
+    /**
+     * Record an event with alternating keys and values (only kept when sampled)
+     */
+    public void event(String name, Object... keyValues) {
+        if (!sampled) {
+            return;
+        }
+        StringBuilder event = new StringBuilder(name);
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            event.append(' ').append(keyValues[i]).append('=').append(keyValues[i + 1]);
+        }
+        events = append(events, event.toString());
+    }
+
+    /**
+     * Log the summary line of a sampled request
+     */
+    public void finish(int status) {
+        if (!sampled) {
+            return;
+        }
+        long totalMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        log.info("method={} path={} status={} total={}us stages=[{}] events=[{}]",
+                method, path, status, totalMicros,
+                stages != null ? stages : "", events != null ? events : "");
+    }
+
+    private static StringBuilder append(StringBuilder builder, String entry) {
+        if (builder == null) {
+            return new StringBuilder(entry);
+        }
+        return builder.append(", ").append(entry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.revature.movieapp.movieapp.trace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts request traces and owns the per-stage timers
+ *
+ * Stage timings are recorded for every request (a Micrometer timer is a few
+ * lock-free additions), while the detailed trace line is only built and logged
+ * for the sampled fraction of requests.
+ *
+ * Sampling is configured per endpoint with Ant-style path patterns, first match wins:
+ *   tracing.sample-rate=0.0                  (every other path)
+ *   tracing.endpoints[/api/reviews/*]=0.1    (10% of requests to these paths)
+ * Metric: request.stage (tag stage), published as a percentile histogram
+ */
+@Component
+public class RequestTracer {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Double> endpointSampleRates;
+    private final double defaultSampleRate;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    public RequestTracer(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        Binder binder = Binder.get(environment);
+        this.defaultSampleRate = binder.bind("tracing.sample-rate", Double.class).orElse(0.0);
+        this.endpointSampleRates = binder.bind("tracing.endpoints", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+    }
+
+    /**
+     * Start the trace of a request and attach it to the request, so later
+     * stages (controllers included) can find it with RequestTrace.of(request)
+     */
+    public RequestTrace start(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate(path);
+        RequestTrace trace = new RequestTrace(this, request.getMethod(), path, sampled);
+        request.setAttribute(RequestTrace.ATTRIBUTE, trace);
+        return trace;
+    }
+
+    private double sampleRate(String path) {
+        for (Map.Entry<String, Double> endpoint : endpointSampleRates.entrySet()) {
+            if (pathMatcher.match(endpoint.getKey(), path)) {
+                return endpoint.getValue();
+            }
+        }
+        return defaultSampleRate;
+    }
+
+    Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, name -> Timer.builder("request.stage")
+                .description("Time spent in each traced stage of request handling")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,13 @@
+-- Backfill Person Movie Counts
+-- Run this script once after upgrading to populate persons.movie_count (the number of
+-- distinct movies each person is credited in) from the existing participations.
+-- From then on MovieCastService keeps the column in sync.
+
+UPDATE persons pe
+LEFT JOIN (
+    SELECT mp.person_id, COUNT(DISTINCT mp.movie_id) AS movie_count
+    FROM movie_participations mp
+    JOIN movies m ON m.movie_id = mp.movie_id
+    GROUP BY mp.person_id
+) c ON c.person_id = pe.person_id
+SET pe.movie_count = COALESCE(c.movie_count, 0);
@@ -6,15 +6,15 @@
 -- DELETE FROM roles;
 
 -- Insert common movie roles
-INSERT INTO roles (role_id, name, description) VALUES 
-(1, 'Actor', 'Performs in the movie'),
-(2, 'Director', 'Directs the movie'),
-(3, 'Producer', 'Produces the movie'),
-(4, 'Writer', 'Writes the screenplay'),
-(5, 'Cinematographer', 'Director of Photography'),
-(6, 'Editor', 'Edits the movie'),
-(7, 'Composer', 'Creates the musical score'),
-(8, 'Production Designer', 'Designs the visual appearance');
+INSERT INTO roles (role_id, name, description, category) VALUES 
+(1, 'Actor', 'Performs in the movie', 'CAST'),
+(2, 'Director', 'Directs the movie', 'DIRECTOR'),
+(3, 'Producer', 'Produces the movie', 'PRODUCER'),
+(4, 'Writer', 'Writes the screenplay', 'WRITER'),
+(5, 'Cinematographer', 'Director of Photography', 'OTHER'),
+(6, 'Editor', 'Edits the movie', 'OTHER'),
+(7, 'Composer', 'Creates the musical score', 'OTHER'),
+(8, 'Production Designer', 'Designs the visual appearance', 'OTHER');
 
 -- Reset the auto-increment (optional - adjust based on your database)
 -- For MySQL:
@@ -0,0 +1,84 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.revature.movieapp.movieapp.ApplicationMain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two application contexts sharing one embedded database stand in for two backend instances.
+ */
+class DatabaseTokenRevocationStoreTests {
+
+	private static final String[] SHARED_DATABASE = {
+			"--spring.profiles.active=test",
+			"--spring.datasource.url=jdbc:h2:mem:revocations;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+			"--spring.jpa.hibernate.ddl-auto=update",
+			"--server.port=0",
+			// refresh only when the test asks for it
+			"--jwt.revocation.refresh-interval-ms=3600000"
+	};
+
+	@Test
+	void logoutOnOneInstanceIsHonouredByAnother() {
+		try (ConfigurableApplicationContext nodeA = start();
+				ConfigurableApplicationContext nodeB = start()) {
+			TokenBlacklistService blacklistA = nodeA.getBean(TokenBlacklistService.class);
+			TokenBlacklistService blacklistB = nodeB.getBean(TokenBlacklistService.class);
+			String tokenId = UUID.randomUUID().toString();
+
+			assertThat(blacklistB.isBlacklisted(tokenId)).isFalse();
+
+			blacklistA.blacklistToken(tokenId, Instant.now().plusSeconds(60));
+			assertThat(blacklistA.isBlacklisted(tokenId)).isTrue();
+
+			nodeB.getBean(DatabaseTokenRevocationStore.class).refresh();
+			assertThat(blacklistB.isBlacklisted(tokenId)).isTrue();
+			assertThat(blacklistB.isBlacklisted(UUID.randomUUID().toString())).isFalse();
+		}
+	}
+
+	@Test
+	void newInstanceLoadsExistingRevocations() {
+		try (ConfigurableApplicationContext nodeA = start()) {
+			String tokenId = UUID.randomUUID().toString();
+			nodeA.getBean(TokenBlacklistService.class).blacklistToken(tokenId, Instant.now().plusSeconds(60));
+
+			try (ConfigurableApplicationContext nodeB = start()) {
+				assertThat(nodeB.getBean(TokenBlacklistService.class).isBlacklisted(tokenId)).isTrue();
+			}
+		}
+	}
+
+	@Test
+	void metricsTrackLiveRevocationsAndDeletedExpiredOnes() {
+		try (ConfigurableApplicationContext node = start()) {
+			DatabaseTokenRevocationStore store = node.getBean(DatabaseTokenRevocationStore.class);
+			MeterRegistry meterRegistry = node.getBean(MeterRegistry.class);
+			double liveBefore = meterRegistry.get("auth.token.blacklist.size").gauge().value();
+
+			store.revoke(UUID.randomUUID().toString(), Instant.now().plusSeconds(60));
+			store.revoke(UUID.randomUUID().toString(), Instant.now().minusSeconds(1));
+			store.refresh();
+
+			assertThat(meterRegistry.get("auth.token.blacklist.revocations").counter().count()).isEqualTo(2);
+			assertThat(meterRegistry.get("auth.token.blacklist.size").gauge().value()).isEqualTo(liveBefore + 1);
+
+			store.rebuild();
+			assertThat(meterRegistry.get("auth.token.blacklist.evictions").counter().count()).isGreaterThanOrEqualTo(1);
+			assertThat(meterRegistry.get("auth.token.blacklist.size").gauge().value()).isEqualTo(liveBefore + 1);
+		}
+	}
+
+	private static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(ApplicationMain.class).run(SHARED_DATABASE);
+	}
+}
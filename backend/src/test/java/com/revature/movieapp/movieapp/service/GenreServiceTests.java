@@ -0,0 +1,178 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.dto.CursorPage;
+import com.revature.movieapp.movieapp.model.Genre;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.repository.GenreRepository;
+import com.revature.movieapp.movieapp.repository.MovieGenresRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GenreServiceTests {
+
+	// movie check, genre validation, current genres, one delete and one insert, two count updates,
+	// then the genres snapshot reload after commit
+	private static final long STATEMENT_BUDGET = 8;
+
+	@Autowired
+	private GenreService genreService;
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private GenreRepository genreRepository;
+	@Autowired
+	private MovieGenresRepository movieGenresRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void replacingGenresWritesOnlyTheDifferenceInConstantStatements() {
+		List<Long> genres = createGenres("Replace", 30);
+		Long movieId = createMovie("Replace genres");
+		genreService.addGenresToMovie(movieId, genres.subList(0, 3));
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		genreService.replaceMovieGenres(movieId, genres.subList(1, 5));
+		long smallReplace = statistics.getPrepareStatementCount();
+		assertThat(movieGenresRepository.findGenreIdsByMovieId(movieId))
+				.containsExactlyInAnyOrderElementsOf(genres.subList(1, 5));
+
+		statistics.clear();
+		genreService.replaceMovieGenres(movieId, genres.subList(3, 30));
+		long largeReplace = statistics.getPrepareStatementCount();
+		assertThat(movieGenresRepository.findGenreIdsByMovieId(movieId))
+				.containsExactlyInAnyOrderElementsOf(genres.subList(3, 30));
+
+		assertThat(largeReplace).isEqualTo(smallReplace).isLessThanOrEqualTo(STATEMENT_BUDGET);
+	}
+
+	@Test
+	void unknownGenresAreReportedTogetherAndNothingChanges() {
+		List<Long> genres = createGenres("Unknown", 2);
+		Long movieId = createMovie("Unknown genres");
+		genreService.addGenresToMovie(movieId, genres);
+
+		assertThatThrownBy(() -> genreService.replaceMovieGenres(movieId, List.of(genres.get(0), -1L, -2L)))
+				.hasMessageContaining("-1").hasMessageContaining("-2");
+		assertThat(movieGenresRepository.findGenreIdsByMovieId(movieId)).containsExactlyInAnyOrderElementsOf(genres);
+	}
+
+	@Test
+	void movieCountsFollowGenreChangesAndMovieDeletion() {
+		List<Long> genres = createGenres("Count", 3);
+		Long first = createMovie("Counted one");
+		Long second = createMovie("Counted two");
+
+		genreService.addGenresToMovie(first, genres.subList(0, 2));
+		genreService.addGenresToMovie(second, genres);
+		assertThat(movieCounts(genres)).containsExactly(2L, 2L, 1L);
+
+		genreService.replaceMovieGenres(first, genres.subList(1, 3));
+		assertThat(movieCounts(genres)).containsExactly(1L, 2L, 2L);
+
+		genreService.removeGenreFromMovie(second, genres.get(2));
+		genreService.removeGenreFromMovie(second, genres.get(2));
+		assertThat(movieCounts(genres)).containsExactly(1L, 2L, 1L);
+
+		movieService.deleteMovie(first);
+		assertThat(movieCounts(genres)).containsExactly(1L, 1L, 0L);
+	}
+
+	@Test
+	void genreMoviesArePagedNewestFirstWithoutGapsOrDuplicates() {
+		Long genreId = createGenres("Browse", 1).get(0);
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			Long movieId = createMovie("Browse " + i, 2000L + i / 2);
+			genreService.addGenreToMovie(movieId, genreId);
+			expected.add(0, movieId);
+		}
+		createMovie("Not in genre", 2030L);
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<Movie> page = movieService.getGenreMoviesPage(
+					genreId, MovieService.MovieSort.RELEASE_YEAR, cursor, 3);
+			page.getItems().forEach(movie -> seen.add(movie.getMovieId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(seen).containsExactlyElementsOf(expected);
+		assertThatThrownBy(() -> movieService.getGenreMoviesPage(genreId, MovieService.MovieSort.TITLE, null, 3))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void genreMoviesAreSortedOverTheWholeGenreWithConstantStatementsPerPage() {
+		Long genreId = createGenres("Sorted", 1).get(0);
+		List<Movie> movies = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			// release years out of id order, so a sort of only the first rows read would show
+			Movie movie = movieService.getMovieById(createMovie("Sorted " + i, 2000L + (i * 7) % 11));
+			genreService.addGenreToMovie(movie.getMovieId(), genreId);
+			movies.add(movie);
+		}
+		List<Long> expected = movies.stream()
+				.sorted(Comparator.comparing(Movie::getReleaseYear).thenComparing(Movie::getMovieId).reversed())
+				.map(Movie::getMovieId)
+				.toList();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			statistics.clear();
+			CursorPage<Movie> page = movieService.getGenreMoviesPage(
+					genreId, MovieService.MovieSort.RELEASE_YEAR, cursor, 3);
+			// genre check and the page query
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+			page.getItems().forEach(movie -> seen.add(movie.getMovieId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(seen).containsExactlyElementsOf(expected);
+	}
+
+	private List<Long> movieCounts(List<Long> genreIds) {
+		return genreIds.stream()
+				.map(id -> genreRepository.findById(id).orElseThrow().getMovieCount())
+				.toList();
+	}
+
+	private List<Long> createGenres(String prefix, int count) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add(genreRepository.save(new Genre(prefix + "-genre-" + i)).getGenreId());
+		}
+		return ids;
+	}
+
+	private Long createMovie(String title) {
+		return createMovie(title, 2015L);
+	}
+
+	private Long createMovie(String title, Long releaseYear) {
+		Movie movie = new Movie();
+		movie.setTitle(title);
+		movie.setReleaseYear(releaseYear);
+		return movieService.createMovie(movie).getMovieId();
+	}
+}
@@ -0,0 +1,145 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.Review;
+import com.revature.movieapp.movieapp.model.User;
+import com.revature.movieapp.movieapp.repository.ReviewRepository;
+import com.revature.movieapp.movieapp.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HelpfulVoteBufferTests {
+
+	private static final int THREADS = 8;
+	private static final int VOTES_PER_THREAD = 500;
+
+	@Autowired
+	private HelpfulVoteBuffer helpfulVoteBuffer;
+	@Autowired
+	private ReviewService reviewService;
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private ReviewRepository reviewRepository;
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void concurrentVotesAreAllCounted() throws Exception {
+		Long reviewId = createReview("Concurrent votes");
+
+		runConcurrently(() -> {
+			for (int i = 0; i < VOTES_PER_THREAD; i++) {
+				helpfulVoteBuffer.record(reviewId);
+			}
+		});
+		helpfulVoteBuffer.flush();
+
+		assertThat(helpfulCount(reviewId)).isEqualTo(THREADS * VOTES_PER_THREAD);
+	}
+
+	@Test
+	void votesRacingWithIdleCounterRemovalAreNotLost() throws Exception {
+		Long reviewId = createReview("Racing votes");
+		AtomicBoolean voting = new AtomicBoolean(true);
+
+		// flush as fast as possible so the counter keeps going idle and being removed
+		Thread flusher = new Thread(() -> {
+			while (voting.get()) {
+				helpfulVoteBuffer.flush();
+			}
+		});
+		flusher.start();
+		try {
+			runConcurrently(() -> {
+				for (int i = 0; i < VOTES_PER_THREAD; i++) {
+					helpfulVoteBuffer.record(reviewId);
+				}
+			});
+		} finally {
+			voting.set(false);
+			flusher.join();
+		}
+		helpfulVoteBuffer.flush();
+
+		assertThat(helpfulCount(reviewId)).isEqualTo(THREADS * VOTES_PER_THREAD);
+	}
+
+	@Test
+	void discardDropsTheBufferedVotesOfADeletedReview() {
+		Long discardedId = createReview("Discarded votes");
+		Long keptId = createReview("Kept votes");
+
+		helpfulVoteBuffer.record(discardedId);
+		helpfulVoteBuffer.record(discardedId);
+		helpfulVoteBuffer.record(keptId);
+		helpfulVoteBuffer.discard(discardedId);
+		helpfulVoteBuffer.flush();
+
+		assertThat(helpfulCount(discardedId)).isZero();
+		assertThat(helpfulCount(keptId)).isEqualTo(1);
+	}
+
+	private void runConcurrently(Runnable task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					task.run();
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private int helpfulCount(Long reviewId) {
+		return reviewRepository.findById(reviewId).orElseThrow().getHelpfulCount();
+	}
+
+	private Long createReview(String title) {
+		Movie movie = new Movie();
+		movie.setTitle(title);
+		movie.setReleaseYear(2015L);
+		Long movieId = movieService.createMovie(movie).getMovieId();
+		return reviewService.createReview(Review.builder()
+				.movieId(movieId)
+				.userId(createUser(title).getId())
+				.rating(4L)
+				.reviewText("Review")
+				.build()).getReviewId();
+	}
+
+	private User createUser(String name) {
+		User user = new User();
+		String username = name.replace(' ', '-') + "-" + System.nanoTime();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword("password");
+		return userRepository.save(user);
+	}
+}
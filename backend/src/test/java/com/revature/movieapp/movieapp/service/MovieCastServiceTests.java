@@ -0,0 +1,103 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.dto.MovieCastCrewDTO;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.model.Person;
+import com.revature.movieapp.movieapp.repository.MovieParticipationRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+import com.revature.movieapp.movieapp.repository.ParticipationRoleRepository;
+import com.revature.movieapp.movieapp.repository.PersonRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieCastServiceTests {
+
+	private static final int CREDITS = 200;
+
+	// validation, id generator round trips, insert batches and the movie count update;
+	// inserting one row at a time would take well over a thousand statements
+	private static final long STATEMENT_BUDGET = 60;
+
+	@Autowired
+	private MovieCastService movieCastService;
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private PersonRepository personRepository;
+	@Autowired
+	private MovieRoleRepository movieRoleRepository;
+	@Autowired
+	private MovieParticipationRepository movieParticipationRepository;
+	@Autowired
+	private ParticipationRoleRepository participationRoleRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void bulkImportIsBatched() {
+		Long movieId = createMovie("Bulk Import");
+		Long actorId = role("Actor").getRoleId();
+		List<MovieCastCrewDTO> credits = new ArrayList<>();
+		for (int i = 0; i < CREDITS; i++) {
+			Person person = personRepository.save(Person.builder().name("Bulk person " + i).build());
+			credits.add(new MovieCastCrewDTO(person.getPersonId(), actorId, "Character " + i));
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		movieCastService.addMultipleCastCrewToMovie(movieId, credits);
+
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(STATEMENT_BUDGET);
+		var participations = movieParticipationRepository.findByMovieId(movieId);
+		assertThat(participations).hasSize(CREDITS);
+		assertThat(participationRoleRepository.findByParticipationIdIn(
+				participations.stream().map(p -> p.getParticipationId()).toList())).hasSize(CREDITS);
+		assertThat(personRepository.findById(credits.get(0).getPersonId()).orElseThrow().getMovieCount())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void bulkImportReportsEveryInvalidEntryAndImportsNothing() {
+		Long movieId = createMovie("Invalid Import");
+		Long actorId = role("Actor").getRoleId();
+		Long personId = personRepository.save(Person.builder().name("Valid person").build()).getPersonId();
+		List<MovieCastCrewDTO> credits = List.of(
+				new MovieCastCrewDTO(personId, actorId, "Valid"),
+				new MovieCastCrewDTO(-1L, actorId, "Unknown person"),
+				new MovieCastCrewDTO(personId, -2L, "Unknown role"),
+				new MovieCastCrewDTO(-3L, actorId, "Another unknown person"));
+
+		assertThatThrownBy(() -> movieCastService.addMultipleCastCrewToMovie(movieId, credits))
+				.isInstanceOfSatisfying(MovieCastService.InvalidCastCrewException.class,
+						e -> assertThat(e.getErrors()).hasSize(3));
+		assertThat(movieParticipationRepository.findByMovieId(movieId)).isEmpty();
+	}
+
+	private Long createMovie(String title) {
+		Movie movie = new Movie();
+		movie.setTitle(title);
+		movie.setReleaseYear(2010L);
+		return movieService.createMovie(movie).getMovieId();
+	}
+
+	private MovieRole role(String name) {
+		return movieRoleRepository.findByName(name)
+				.orElseGet(() -> movieRoleRepository.save(MovieRole.builder().name(name).build()));
+	}
+}
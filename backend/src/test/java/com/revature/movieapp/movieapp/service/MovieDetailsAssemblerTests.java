@@ -0,0 +1,157 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.dto.CursorPage;
+import com.revature.movieapp.movieapp.dto.MovieFullDetailsDTO;
+import com.revature.movieapp.movieapp.model.Genre;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.MovieGenres;
+import com.revature.movieapp.movieapp.model.MovieParticipation;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.model.ParticipationRole;
+import com.revature.movieapp.movieapp.model.Person;
+import com.revature.movieapp.movieapp.model.Review;
+import com.revature.movieapp.movieapp.model.User;
+import com.revature.movieapp.movieapp.repository.GenreRepository;
+import com.revature.movieapp.movieapp.repository.MovieGenresRepository;
+import com.revature.movieapp.movieapp.repository.MovieParticipationRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+import com.revature.movieapp.movieapp.repository.ParticipationRoleRepository;
+import com.revature.movieapp.movieapp.repository.PersonRepository;
+import com.revature.movieapp.movieapp.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieDetailsAssemblerTests {
+
+	// movie, reviews, usernames, genres, participations, persons, participation roles
+	// (movie roles come from MovieRoleCache)
+	private static final long QUERY_BUDGET = 7;
+
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private GenreRepository genreRepository;
+	@Autowired
+	private MovieGenresRepository movieGenresRepository;
+	@Autowired
+	private PersonRepository personRepository;
+	@Autowired
+	private MovieRoleRepository movieRoleRepository;
+	@Autowired
+	private MovieParticipationRepository movieParticipationRepository;
+	@Autowired
+	private ParticipationRoleRepository participationRoleRepository;
+	@Autowired
+	private ReviewService reviewService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private MovieRoleCache movieRoleCache;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void fullDetailsQueryCountDoesNotGrowWithCastOrReviews() {
+		Long smallMovieId = createMovie("Small", 1, 1);
+		Long largeMovieId = createMovie("Large", 40, 60);
+		// (re)load the roles reference data up front, so neither measurement pays for it
+		movieRoleCache.reload();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		MovieFullDetailsDTO small = movieService.getMovieFullDetails(smallMovieId);
+		long smallQueries = statistics.getPrepareStatementCount();
+
+		statistics.clear();
+		MovieFullDetailsDTO large = movieService.getMovieFullDetails(largeMovieId);
+		long largeQueries = statistics.getPrepareStatementCount();
+
+		assertThat(small.getCast()).hasSize(1);
+		assertThat(large.getCast()).hasSize(40);
+		assertThat(large.getDirectors()).hasSize(1);
+		assertThat(large.getReviews()).hasSize(MovieDetailsAssembler.REVIEWS_FIRST_PAGE_SIZE);
+		assertThat(large.getReviewCount()).isEqualTo(60);
+		assertThat(large.getReviewsNextCursor()).isNotNull();
+		assertThat(large.getReviews().get(0).getUserName()).startsWith("Large-user");
+		assertThat(small.getReviewsNextCursor()).isNull();
+		assertThat(large.getGenres()).hasSize(1);
+		assertThat(largeQueries).isEqualTo(smallQueries).isLessThanOrEqualTo(QUERY_BUDGET);
+	}
+
+	@Test
+	void embeddedReviewCursorContinuesWithRemainingReviews() {
+		Long movieId = createMovie("Paged", 0, 45);
+		MovieFullDetailsDTO details = movieService.getMovieFullDetails(movieId);
+
+		Set<Long> seen = new HashSet<>();
+		details.getReviews().forEach(review -> seen.add(review.getReviewId()));
+		String cursor = details.getReviewsNextCursor();
+		while (cursor != null) {
+			CursorPage<Review> page = reviewService.getReviewsPage(
+					movieId, ReviewService.ReviewSort.UPDATED_AT, cursor, 10);
+			page.getItems().forEach(review -> assertThat(seen.add(review.getReviewId())).isTrue());
+			cursor = page.getNextCursor();
+		}
+		assertThat(seen).hasSize(45);
+	}
+
+	private Long createMovie(String title, int castSize, int reviewCount) {
+		Movie movie = new Movie();
+		movie.setTitle(title);
+		movie.setReleaseYear(2000L);
+		movie = movieService.createMovie(movie);
+
+		Genre genre = genreRepository.save(new Genre(title + "-genre"));
+		movieGenresRepository.save(new MovieGenres(
+				new MovieGenres.MovieGenresId(movie.getMovieId(), genre.getGenreId()), movie, genre));
+
+		MovieRole actor = role("Actor");
+		MovieRole director = role("Director");
+		for (int i = 0; i <= castSize; i++) {
+			Person person = personRepository.save(Person.builder().name(title + "-person-" + i).build());
+			MovieParticipation participation = movieParticipationRepository.save(MovieParticipation.builder()
+					.movieId(movie.getMovieId())
+					.personId(person.getPersonId())
+					.build());
+			participationRoleRepository.save(ParticipationRole.builder()
+					.participationId(participation.getParticipationId())
+					.roleId(i == castSize ? director.getRoleId() : actor.getRoleId())
+					.note("Character " + i)
+					.build());
+		}
+
+		for (int i = 0; i < reviewCount; i++) {
+			User user = new User();
+			user.setUsername(title + "-user-" + i);
+			user.setEmail(title + i + "@example.com");
+			user.setPassword("password");
+			user = userRepository.save(user);
+			reviewService.createReview(Review.builder()
+					.movieId(movie.getMovieId())
+					.userId(user.getId())
+					.rating(4L)
+					.reviewText("Review " + i)
+					.build());
+		}
+		return movie.getMovieId();
+	}
+
+	private MovieRole role(String name) {
+		return movieRoleRepository.findByName(name)
+				.orElseGet(() -> movieRoleRepository.save(MovieRole.builder().name(name).build()));
+	}
+}
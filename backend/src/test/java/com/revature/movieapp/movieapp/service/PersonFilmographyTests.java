@@ -0,0 +1,114 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.dto.FilmographyDTO;
+import com.revature.movieapp.movieapp.dto.MovieCastCrewDTO;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.model.Person;
+import com.revature.movieapp.movieapp.repository.MovieParticipationRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+import com.revature.movieapp.movieapp.repository.PersonRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PersonFilmographyTests {
+
+	// person, page of movies, role names and notes
+	private static final long QUERY_BUDGET = 3;
+
+	@Autowired
+	private PersonService personService;
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private MovieCastService movieCastService;
+	@Autowired
+	private PersonRepository personRepository;
+	@Autowired
+	private MovieRoleRepository movieRoleRepository;
+	@Autowired
+	private MovieParticipationRepository movieParticipationRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void filmographyPagesNewestFirstWithAFixedNumberOfQueries() {
+		Long personId = personRepository.save(Person.builder().name("Prolific Person").build()).getPersonId();
+		MovieRole actor = role("Actor");
+		MovieRole director = role("Director");
+		for (int i = 0; i < 30; i++) {
+			Long movieId = createMovie("Film " + i, 1990L + i % 10);
+			movieCastService.addCastCrewToMovie(movieId, new MovieCastCrewDTO(personId, actor.getRoleId(), "Role " + i));
+			if (i % 3 == 0) {
+				movieCastService.addCastCrewToMovie(movieId, new MovieCastCrewDTO(personId, director.getRoleId(), null));
+			}
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		List<FilmographyDTO.MovieCreditDTO> movies = new ArrayList<>();
+		String cursor = null;
+		do {
+			statistics.clear();
+			FilmographyDTO page = personService.getFilmography(personId, cursor, 7);
+			assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(QUERY_BUDGET);
+			assertThat(page.getMovieCount()).isEqualTo(30);
+			movies.addAll(page.getMovies());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(movies).hasSize(30);
+		assertThat(movies).extracting(FilmographyDTO.MovieCreditDTO::getMovieId).doesNotHaveDuplicates();
+		for (int i = 1; i < movies.size(); i++) {
+			assertThat(movies.get(i).getReleaseYear()).isLessThanOrEqualTo(movies.get(i - 1).getReleaseYear());
+		}
+		FilmographyDTO.MovieCreditDTO first = movies.stream()
+				.filter(movie -> movie.getTitle().equals("Film 0"))
+				.findFirst().orElseThrow();
+		assertThat(first.getRoles()).extracting(FilmographyDTO.CreditDTO::getRoleName)
+				.containsExactly("Actor", "Director");
+		assertThat(first.getRoles().get(0).getNote()).isEqualTo("Role 0");
+	}
+
+	@Test
+	void movieCountOnlyChangesWithTheFirstAndLastCreditInAMovie() {
+		Long personId = personRepository.save(Person.builder().name("Counted Person").build()).getPersonId();
+		Long movieId = createMovie("Counted Film", 2001L);
+		movieCastService.addCastCrewToMovie(movieId, new MovieCastCrewDTO(personId, role("Actor").getRoleId(), "Lead"));
+		movieCastService.addCastCrewToMovie(movieId, new MovieCastCrewDTO(personId, role("Writer").getRoleId(), null));
+		assertThat(personService.getFilmography(personId, null, 10).getMovieCount()).isEqualTo(1);
+
+		List<Long> participationIds = movieParticipationRepository.findByPersonId(personId).stream()
+				.map(participation -> participation.getParticipationId())
+				.toList();
+		movieCastService.removeCastCrewFromMovie(participationIds.get(0));
+		assertThat(personService.getFilmography(personId, null, 10).getMovieCount()).isEqualTo(1);
+		movieCastService.removeCastCrewFromMovie(participationIds.get(1));
+		assertThat(personService.getFilmography(personId, null, 10).getMovieCount()).isZero();
+	}
+
+	private Long createMovie(String title, Long releaseYear) {
+		Movie movie = new Movie();
+		movie.setTitle(title);
+		movie.setReleaseYear(releaseYear);
+		return movieService.createMovie(movie).getMovieId();
+	}
+
+	private MovieRole role(String name) {
+		return movieRoleRepository.findByName(name)
+				.orElseGet(() -> movieRoleRepository.save(MovieRole.builder().name(name).build()));
+	}
+}
@@ -0,0 +1,110 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.movieapp.movieapp.model.Genre;
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.repository.GenreRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceDataSnapshotTests {
+
+	@Autowired
+	private ReferenceDataSnapshot referenceDataSnapshot;
+	@Autowired
+	private GenreService genreService;
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private GenreRepository genreRepository;
+	@Autowired
+	private MovieRoleRepository movieRoleRepository;
+	@Autowired
+	private MovieRoleCache movieRoleCache;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void readsAreServedFromTheSnapshotWithoutQueries() {
+		referenceDataSnapshot.refresh();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		for (int i = 0; i < 10; i++) {
+			referenceDataSnapshot.getGenres();
+			referenceDataSnapshot.getRoles();
+		}
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void etagOnlyChangesWithTheContent() {
+		referenceDataSnapshot.refresh();
+		ReferenceDataSnapshot.Resource before = referenceDataSnapshot.getGenres();
+
+		referenceDataSnapshot.refresh();
+		assertThat(referenceDataSnapshot.getGenres().getEtag()).isEqualTo(before.getEtag());
+
+		genreRepository.save(new Genre("Snapshot-genre-new"));
+		referenceDataSnapshot.refresh();
+		assertThat(referenceDataSnapshot.getGenres().getEtag()).isNotEqualTo(before.getEtag());
+		assertThat(new String(referenceDataSnapshot.getGenres().getJson())).contains("Snapshot-genre-new");
+	}
+
+	@Test
+	void genreChangesRefreshTheSnapshotAfterCommit() throws Exception {
+		Long genreId = genreRepository.save(new Genre("Snapshot-genre-counted")).getGenreId();
+		referenceDataSnapshot.refresh();
+		String etag = referenceDataSnapshot.getGenres().getEtag();
+
+		Movie movie = new Movie();
+		movie.setTitle("Snapshot movie");
+		movie.setReleaseYear(2015L);
+		genreService.addGenresToMovie(movieService.createMovie(movie).getMovieId(), List.of(genreId));
+
+		ReferenceDataSnapshot.Resource genres = referenceDataSnapshot.getGenres();
+		assertThat(genres.getEtag()).isNotEqualTo(etag);
+		JsonNode counted = null;
+		for (JsonNode genre : objectMapper.readTree(genres.getJson())) {
+			if (genre.get("genreId").asLong() == genreId) {
+				counted = genre;
+			}
+		}
+		assertThat(counted).isNotNull();
+		assertThat(counted.get("movieCount").asLong()).isEqualTo(1);
+	}
+
+	@Test
+	void rolesForMovieDetailsAndJsonAreReloadedTogether() {
+		referenceDataSnapshot.refresh();
+		String etag = referenceDataSnapshot.getRoles().getEtag();
+		MovieRole role = movieRoleRepository.save(MovieRole.builder().name("Snapshot-role").build());
+
+		movieRoleCache.reload();
+		assertThat(movieRoleCache.getAll()).containsKey(role.getRoleId());
+
+		// one copy of the table: the JSON was reloaded with the roles
+		assertThat(movieRoleCache.getAll()).isSameAs(referenceDataSnapshot.getRolesById());
+		assertThat(referenceDataSnapshot.getRoles().getEtag()).isNotEqualTo(etag);
+		assertThat(new String(referenceDataSnapshot.getRoles().getJson())).contains("Snapshot-role");
+	}
+}
@@ -0,0 +1,114 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.model.Movie;
+import com.revature.movieapp.movieapp.model.Review;
+import com.revature.movieapp.movieapp.model.User;
+import com.revature.movieapp.movieapp.repository.MovieRepository;
+import com.revature.movieapp.movieapp.repository.ReviewRepository;
+import com.revature.movieapp.movieapp.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewServiceTests {
+
+	@Autowired
+	private ReviewService reviewService;
+	@Autowired
+	private MovieService movieService;
+	@Autowired
+	private HelpfulVoteBuffer helpfulVoteBuffer;
+	@Autowired
+	private ReviewRepository reviewRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Test
+	void editingAReviewKeepsVotesFlushedAfterItWasLoaded() {
+		Long reviewId = createReview("Edited after flush");
+		Review loadedBeforeVote = reviewRepository.findById(reviewId).orElseThrow();
+
+		reviewService.markHelpful(reviewId, createUser("edit-voter").getId());
+		helpfulVoteBuffer.flush();
+
+		// a copy read before the flush is saved back, as a concurrent edit would do
+		loadedBeforeVote.setReviewText("Edited");
+		reviewRepository.save(loadedBeforeVote);
+		assertThat(reviewRepository.findById(reviewId).orElseThrow().getHelpfulCount()).isEqualTo(1);
+
+		reviewService.updateReview(reviewId, Review.builder().rating(2L).reviewText("Edited again").build());
+		Review edited = reviewRepository.findById(reviewId).orElseThrow();
+		assertThat(edited.getHelpfulCount()).isEqualTo(1);
+		assertThat(edited.getReviewText()).isEqualTo("Edited again");
+	}
+
+	@Test
+	void concurrentRatingEditsKeepTheMovieAggregatesConsistent() throws Exception {
+		Long reviewId = createReview("Concurrent rating edits");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (long rating = 1; rating <= 5; rating++) {
+				long newRating = rating;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 10; i++) {
+						reviewService.updateReview(reviewId, Review.builder().rating(newRating).build());
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// every edit removed the rating it replaced, so only the last one is left in the aggregates
+		Review review = reviewRepository.findById(reviewId).orElseThrow();
+		Movie movie = movieRepository.findById(review.getMovieId()).orElseThrow();
+		assertThat(movie.getRatingCount()).isEqualTo(1);
+		assertThat(movie.getRatingSum()).isEqualTo(review.getRating());
+	}
+
+	private Long createReview(String title) {
+		Movie movie = new Movie();
+		movie.setTitle(title);
+		movie.setReleaseYear(2015L);
+		Long movieId = movieService.createMovie(movie).getMovieId();
+		return reviewService.createReview(Review.builder()
+				.movieId(movieId)
+				.userId(createUser(title).getId())
+				.rating(4L)
+				.reviewText("Review")
+				.build()).getReviewId();
+	}
+
+	private User createUser(String name) {
+		User user = new User();
+		String username = name.replace(' ', '-') + "-" + System.nanoTime();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword("password");
+		return userRepository.save(user);
+	}
+}
@@ -0,0 +1,40 @@
+package com.revature.movieapp.movieapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.revature.movieapp.movieapp.model.CreditCategory;
+import com.revature.movieapp.movieapp.model.MovieRole;
+import com.revature.movieapp.movieapp.repository.DataMigrationRepository;
+import com.revature.movieapp.movieapp.repository.MovieRoleRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoleCategoryInitializerTests {
+
+	@Autowired
+	private RoleCategoryInitializer roleCategoryInitializer;
+	@Autowired
+	private MovieRoleRepository movieRoleRepository;
+	@Autowired
+	private DataMigrationRepository dataMigrationRepository;
+
+	@Test
+	void categoriesAreDerivedOnlyOnce() {
+		// the startup run recorded itself
+		assertThat(dataMigrationRepository.existsById(RoleCategoryInitializer.MIGRATION)).isTrue();
+
+		MovieRole role = movieRoleRepository.save(MovieRole.builder()
+				.name("Director of photography " + System.nanoTime())
+				.category(CreditCategory.OTHER)
+				.build());
+		roleCategoryInitializer.run(null);
+
+		assertThat(movieRoleRepository.findById(role.getRoleId()).orElseThrow().getCategory())
+				.isEqualTo(CreditCategory.OTHER);
+	}
+}